@@ -0,0 +1,236 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for {@code Primes}, next to the original trial-division
+ * lambdas as a baseline. Run with the GC profiler to track allocation:
+ * <pre>
+ *   java -jar benchmarks.jar bench.PrimesBenchmark -prof gc
+ * </pre>
+ * JMH will not generate code for a benchmark in the unnamed package, and a
+ * named package cannot import from it, so the code under test is looked up by
+ * name once. The handles and fields are static finals, which the JIT treats as
+ * constants, so a call through them costs what a direct call does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimesBenchmark {
+	// the trial-division lambdas Primes shipped with, kept as the baseline
+	static final IntFunction<IntStream> TRIAL_RANGE    = n -> IntStream.range(2, n).filter(x->x>0);
+	static final IntFunction<IntStream> TRIAL_DIVISORS = n -> TRIAL_RANGE.apply(n).filter(x-> n%x ==0);
+	static final IntPredicate           TRIAL_IS_PRIME = n -> TRIAL_DIVISORS.apply(n).count()==0&&n>0;
+	//https://www.rapid7.com/blog/post/2015/10/16/exploring-lambdas-and-streams-in-java-8/
+	// got the use of '&&' from here
+
+	static final IntPredicate           IS_PRIME     = field( "Primes", "IS_PRIME" );
+	static final IntFunction<IntStream> DIVISORS     = field( "Primes", "DIVISORS" );
+	static final Supplier<IntStream>    PRIME_STREAM = field( "Primes", "PRIME_STREAM" );
+
+	static final MethodHandle IS_PRIME_BATCH  = method( "Primes", "isPrime", int[].class, BitSet.class );
+	static final MethodHandle IS_PRIME_MILLER = method( "MillerRabin", "isPrime", int.class );
+	static final MethodHandle SIEVE_STREAM    = method( "PrimeSieve", "stream", int.class, int.class );
+	static final MethodHandle PI              = method( "Primes", "pi", long.class );
+	static final MethodHandle PI_PARALLEL     = method( "Primes", "piParallel", long.class );
+	static final MethodHandle FACTORIZE       = method( "Primes", "factorize", int.class );
+	static final MethodHandle ENGINE          = method( "PrimeEngine", "valueOf", String.class );
+	static final MethodHandle USE_ENGINE      = method( "Primes", "useEngine", type( "PrimeEngine" ));
+	static final MethodHandle ENGINE_EMPTY    = method( "PrimeEngine", "empty" );
+	static final MethodHandle BITMAP_EXTEND   = method( "PrimeBitmap", "extend", int.class );
+
+	@State(Scope.Benchmark)
+	public static class Numbers {
+		@Param({ "1000", "1000000", "1000000000" })
+		int magnitude;
+		int[] values;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			values = new Random( 42 ).ints( 1024, magnitude / 2, magnitude ).toArray();
+		}
+	}
+
+	/**
+	 * Trial division is O(n) per number, so it only gets the small magnitudes.
+	 */
+	@State(Scope.Benchmark)
+	public static class TrialNumbers {
+		@Param({ "1000", "1000000" })
+		int magnitude;
+		int[] values;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			values = new Random( 42 ).ints( 1024, magnitude / 2, magnitude ).toArray();
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class Limit {
+		@Param({ "100000", "10000000" })
+		int n;
+	}
+
+	@State(Scope.Benchmark)
+	public static class Engine {
+		@Param({ "ODD", "WHEEL" })
+		String name;
+		Object engine;
+
+		@Setup(Level.Trial)
+		public void setup() throws Throwable {
+			engine = (Object)ENGINE.invokeExact( name );
+			USE_ENGINE.invokeExact( engine );
+		}
+	}
+
+	@Benchmark
+	public void isPrimeTrialDivision(TrialNumbers numbers, Blackhole sink) {
+		for (int n : numbers.values) {
+			sink.consume( TRIAL_IS_PRIME.test( n ));
+		}
+	}
+	@Benchmark
+	public void isPrime(Numbers numbers, Engine engine, Blackhole sink) {
+		for (int n : numbers.values) {
+			sink.consume( IS_PRIME.test( n ));
+		}
+	}
+	@Benchmark
+	public void isPrimeMillerRabin(Numbers numbers, Blackhole sink) throws Throwable {
+		for (int n : numbers.values) {
+			sink.consume( (boolean)IS_PRIME_MILLER.invokeExact( n ));
+		}
+	}
+	@Benchmark
+	public BitSet isPrimeBatch(Numbers numbers) throws Throwable {
+		var out = new BitSet( numbers.values.length );
+		IS_PRIME_BATCH.invokeExact( numbers.values, out );
+		return out;
+	}
+
+	@Benchmark
+	public long enumerateTrialDivision() {
+		return TRIAL_RANGE.apply( 100_000 ).filter( TRIAL_IS_PRIME ).count();
+	}
+	@Benchmark
+	public long enumerateTable(Limit limit, Engine engine) {
+		return PRIME_STREAM.get().takeWhile( p -> p < limit.n ).count();
+	}
+	@Benchmark
+	public long enumerateSegments(Limit limit) throws Throwable {
+		return ((IntStream)SIEVE_STREAM.invokeExact( 2, limit.n )).count();
+	}
+	@Benchmark
+	public long enumerateSegmentsParallel(Limit limit) throws Throwable {
+		return ((IntStream)SIEVE_STREAM.invokeExact( 2, limit.n )).parallel().count();
+	}
+	@Benchmark
+	public Object sieveTable(Limit limit, Engine engine) throws Throwable {
+		return (Object)BITMAP_EXTEND.invokeExact( (Object)ENGINE_EMPTY.invokeExact( engine.engine ), limit.n );
+	}
+
+	@Benchmark
+	public long countPi(Limit limit) throws Throwable {
+		return (long)PI.invokeExact( (long)limit.n );
+	}
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public long countPiLarge() throws Throwable {
+		return (long)PI.invokeExact( 100_000_000_000L );
+	}
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public long countPiLargeParallel() throws Throwable {
+		return (long)PI_PARALLEL.invokeExact( 100_000_000_000L );
+	}
+
+	@Benchmark
+	public void divisorsTrialDivision(TrialNumbers numbers, Blackhole sink) {
+		for (int n : numbers.values) {
+			sink.consume( TRIAL_DIVISORS.apply( n ).count() );
+		}
+	}
+	@Benchmark
+	public void divisors(Numbers numbers, Blackhole sink) {
+		for (int n : numbers.values) {
+			sink.consume( DIVISORS.apply( n ).count() );
+		}
+	}
+	@Benchmark
+	public void factorize(Numbers numbers, Blackhole sink) throws Throwable {
+		for (int n : numbers.values) {
+			sink.consume( (int[])FACTORIZE.invokeExact( n ));
+		}
+	}
+
+	private static Class<?> type(String name) {
+		try {
+			return Class.forName( name );
+		}
+		catch (ClassNotFoundException e) {
+			throw new ExceptionInInitializerError( e );
+		}
+	}
+	/**
+	 * Returns a handle on a static or instance method of a class in the unnamed
+	 * package, with every type from that package erased to {@code Object}.
+	 */
+	private static MethodHandle method(String owner, String name, Class<?>... parameters) {
+		try {
+			var method = type( owner ).getDeclaredMethod( name, parameters );
+			method.setAccessible( true );
+			var handle = MethodHandles.lookup().unreflect( method );
+			return handle.asType( erase( handle.type() ));
+		}
+		catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError( e );
+		}
+	}
+	@SuppressWarnings("unchecked")
+	private static <T> T field(String owner, String name) {
+		try {
+			var field = type( owner ).getDeclaredField( name );
+			field.setAccessible( true );
+			return (T)field.get( null );
+		}
+		catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError( e );
+		}
+	}
+	private static MethodType erase(MethodType type) {
+		for (int i = 0; i < type.parameterCount(); i++) {
+			type = type.changeParameterType( i, erase( type.parameterType( i )));
+		}
+		return type.changeReturnType( erase( type.returnType() ));
+	}
+	private static Class<?> erase(Class<?> type) {
+		return type.getPackageName().isEmpty() ? Object.class : type;
+	}
+}
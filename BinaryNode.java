@@ -1,4 +1,10 @@
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BinaryNode<T> {
 	private static final BinaryNode<?> EMPTY = new BinaryNode<>() {
@@ -10,14 +16,19 @@ public class BinaryNode<T> {
 		public boolean equals(Object obj) {
 			return obj == this;
 		}
-		@Override
-		public int hashCode() {
-			return Objects.hash( this );
-		}
 	};
+	// canonical nodes, weakly held so that unused ones can still be collected
+	private static final ConcurrentHashMap<Object, Canonical> INTERNED = new ConcurrentHashMap<>();
+	private static final ReferenceQueue<BinaryNode<?>>        RELEASED = new ReferenceQueue<>();
+
 	private final T             value;
 	private final BinaryNode<T> left;
 	private final BinaryNode<T> right;
+	// nodes are immutable, so these are fixed at construction from the children's
+	private final long          size;
+	private final int           height;
+	private final int           hash;
+	private final boolean       canonical;
 
 	@SuppressWarnings("unchecked")
 	public static <T> BinaryNode<T> empty() {
@@ -27,18 +38,77 @@ public class BinaryNode<T> {
 		return BinaryNode.of( value, empty(), empty() );
 	}
 	public static <T> BinaryNode<T> of(T value, BinaryNode<T> left, BinaryNode<T> right) {
-		return new BinaryNode<>( value, left, right );
+		return new BinaryNode<>( value, left, right, false );
+	}
+	public static <T> BinaryNode<T> interned(T value) {
+		return BinaryNode.interned( value, empty(), empty() );
+	}
+	/**
+	 * Returns the canonical node equal to {@code of(value, left, right)}, creating
+	 * it if no live node is. Canonical nodes are equal only if they are the same
+	 * instance, so trees built from them share every repeated subtree.
+	 */
+	public static <T> BinaryNode<T> interned(T value, BinaryNode<T> left, BinaryNode<T> right) {
+		Objects.requireNonNull( value );
+		return canonical( value, intern( left ), intern( right ));
+	}
+	/**
+	 * Returns the canonical node equal to {@code tree}, interning its subtrees
+	 * bottom-up. A subtree shared within {@code tree} is interned once.
+	 */
+	public static <T> BinaryNode<T> intern(BinaryNode<T> tree) {
+		if (Objects.requireNonNull( tree ).canonical) {
+			return tree;
+		}
+		var pending  = new ArrayDeque<BinaryNode<T>>();
+		var done     = new ArrayDeque<BinaryNode<T>>();
+		var expanded = new BitSet();                                // by pending depth, as in PostorderStrategy
+		var known    = new IdentityHashMap<BinaryNode<T>, BinaryNode<T>>();
+		pending.push( tree );
+		while (!pending.isEmpty()) {
+			int depth = pending.size() - 1;
+			var node  = pending.peek();
+			if (node.canonical) {
+				done.push( pending.pop() );
+			}
+			else if (expanded.get( depth )) {
+				expanded.clear( depth );
+				pending.pop();
+				var right  = done.pop();
+				var left   = done.pop();
+				var result = canonical( node.value, left, right );
+				known.put( node, result );
+				done.push( result );
+			}
+			else if (known.containsKey( node )) {
+				done.push( known.get( pending.pop() ));
+			}
+			else {
+				expanded.set( depth );
+				pending.push( node.right );
+				pending.push( node.left );
+			}
+		}
+		return done.pop();
 	}
 	@SuppressWarnings("unchecked")
 	private BinaryNode() {
-		this.value = (T)new Object();
-		this.left  = this;
-		this.right = this;
+		this.value     = (T)new Object();
+		this.left      = this;
+		this.right     = this;
+		this.size      = 0;
+		this.height    = 0;
+		this.hash      = 0;
+		this.canonical = true;
 	}
-	private BinaryNode(T value, BinaryNode<T> left, BinaryNode<T> right) {
-		this.value = Objects.requireNonNull( value );
-		this.left  = Objects.requireNonNull( left  );
-		this.right = Objects.requireNonNull( right );
+	private BinaryNode(T value, BinaryNode<T> left, BinaryNode<T> right, boolean canonical) {
+		this.value     = Objects.requireNonNull( value );
+		this.left      = Objects.requireNonNull( left  );
+		this.right     = Objects.requireNonNull( right );
+		this.size      = 1 + left.size + right.size;
+		this.height    = 1 + Math.max( left.height, right.height );
+		this.hash      = hash( value, left, right );
+		this.canonical = canonical;
 	}
 	
 	public T value() {
@@ -50,26 +120,143 @@ public class BinaryNode<T> {
 	public BinaryNode<T> right() {
 		return right;
 	}
+	/**
+	 * Returns the number of nodes in this subtree, counting a shared subtree
+	 * once for every place it appears; 0 for the empty tree.
+	 */
+	public long size() {
+		return size;
+	}
+	/**
+	 * Returns the number of nodes on the longest path from here to a leaf; 0
+	 * for the empty tree.
+	 */
+	public int height() {
+		return height;
+	}
+	/**
+	 * Compares structure and values pairwise from an explicit stack, so trees
+	 * of any depth compare without recursion. Identical subtrees are skipped
+	 * without being walked.
+	 */
 	@Override
 	public boolean equals(Object obj) {
-		if (obj != null) {
-			if (obj == this) {
-				return true;
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		var pending = new ArrayDeque<BinaryNode<?>>();
+		pending.push( this );
+		pending.push( (BinaryNode<?>)obj );
+		while (!pending.isEmpty()) {
+			var other = pending.pop();
+			var node  = pending.pop();
+			if (node == other) {
+				continue;
+			}
+			if (node.canonical && other.canonical) {
+				return false;
 			}
-			if (obj.getClass() == getClass()) {
-				var other = (BinaryNode<?>) obj;
-				if (value.getClass() == other.value.getClass() &&
-						value.equals( other.value ) &&
-						left .equals( other.left  ) && 
-						right.equals( other.right )) {
-					return true;
-				}
+			if (node.getClass() != other.getClass() ||
+					node.hash != other.hash || node.size != other.size ||
+					node.value.getClass() != other.value.getClass() ||
+					!node.value.equals( other.value )) {
+				return false;
 			}
+			pending.push( node.right );
+			pending.push( other.right );
+			pending.push( node.left );
+			pending.push( other.left );
 		}
-		return false;
+		return true;
 	}
 	@Override
 	public int hashCode() {
-		return Objects.hash( value );
+		return hash;
+	}
+
+	private static int hash(Object value, BinaryNode<?> left, BinaryNode<?> right) {
+		return 31 * (31 * value.hashCode() + left.hash) + right.hash;
+	}
+	/**
+	 * Looks up or creates the canonical node over the canonical {@code left}
+	 * and {@code right}.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> BinaryNode<T> canonical(T value, BinaryNode<T> left, BinaryNode<T> right) {
+		for (Object released; (released = RELEASED.poll()) != null; ) {
+			INTERNED.remove( released, released );
+		}
+		var key = new Lookup( value, left, right );
+		while (true) {
+			var entry = INTERNED.get( key );
+			var node  = entry == null ? null : (BinaryNode<T>)entry.get();
+			if (node != null) {
+				return node;
+			}
+			// a cleared entry matches nothing; it stays until its release is polled
+			var created = new BinaryNode<>( value, left, right, true );
+			var fresh   = new Canonical( created );
+			if (INTERNED.putIfAbsent( fresh, fresh ) == null) {
+				return created;
+			}
+		}
+	}
+
+	/**
+	 * Weak table entry, which is its own key. Two entries are equal while both
+	 * nodes are alive and have equal values over the very same children; the
+	 * table holds no strong reference to any node, so a canonical subtree lives
+	 * exactly as long as something outside the table uses it.
+	 */
+	private static final class Canonical extends WeakReference<BinaryNode<?>> {
+		private final int hash;
+
+		Canonical(BinaryNode<?> node) {
+			super( node, RELEASED );
+			this.hash = node.hash;
+		}
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			var node = get();
+			return node != null && obj instanceof Canonical other && matches( other.get(), node.value, node.left, node.right );
+		}
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * Probe for the entry of a value over two canonical children.
+	 */
+	private static final class Lookup {
+		private final Object        value;
+		private final BinaryNode<?> left;
+		private final BinaryNode<?> right;
+
+		Lookup(Object value, BinaryNode<?> left, BinaryNode<?> right) {
+			this.value = value;
+			this.left  = left;
+			this.right = right;
+		}
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Canonical entry && matches( entry.get(), value, left, right );
+		}
+		@Override
+		public int hashCode() {
+			return hash( value, left, right );
+		}
+	}
+
+	private static boolean matches(BinaryNode<?> node, Object value, BinaryNode<?> left, BinaryNode<?> right) {
+		return node != null &&
+				node.left  == left  &&
+				node.right == right &&
+				node.value.getClass() == value.getClass() &&
+				node.value.equals( value );
 	}
-}
\ No newline at end of file
+}
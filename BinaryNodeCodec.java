@@ -0,0 +1,399 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Compact binary form of {@link BinaryNode} trees.
+ * <p>
+ * An 8-byte header, {@code int} magic "BNOD" and {@code int} version, both
+ * little-endian, is followed by the nodes in preorder:
+ * <pre>
+ *   byte   tag       0 for the empty tree, 1 for a node; nothing else follows an empty tree
+ *   varint length    bytes of the rest of this subtree
+ *   varint size      bytes of the value
+ *   bytes  value     written by the {@link ValueCodec}
+ *          left      subtree
+ *          right     subtree
+ * </pre>
+ * Varints are unsigned LEB128. The stored subtree lengths let a reader step
+ * over a left subtree to its right sibling without decoding it, which is what
+ * {@link Subtree} does on a mapped file. Encoding and decoding keep their own
+ * stacks, so no tree is too deep for them.
+ */
+public final class BinaryNodeCodec<T> {
+	static final int MAGIC   = 0x444F4E42;                          // "BNOD" in little-endian
+	static final int VERSION = 1;
+	static final int HEADER  = 8;
+
+	private static final byte EMPTY_TAG = 0;
+	private static final byte NODE_TAG  = 1;
+	private static final int  BUFFER    = 1 << 16;
+
+	private final ValueCodec<T> codec;
+
+	public BinaryNodeCodec(ValueCodec<T> codec) {
+		if (codec == null) {
+			throw new IllegalArgumentException();
+		}
+		this.codec = codec;
+	}
+
+	/**
+	 * Writes {@code tree} to {@code out}. A first pass lists the nodes in
+	 * preorder and sizes every subtree from the last node back, since both
+	 * children of node {@code i} come after it: the left one at {@code i + 1}
+	 * and the right one after the left subtree. The second pass writes.
+	 */
+	public void write(BinaryNode<T> tree, WritableByteChannel out) throws IOException {
+		if (tree == null || out == null) {
+			throw new IllegalArgumentException();
+		}
+		if (tree.size() > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("tree has too many nodes to encode");
+		}
+		int  count  = (int)tree.size();
+		@SuppressWarnings("unchecked")
+		var  nodes  = (BinaryNode<T>[])new BinaryNode<?>[count];
+		var  sizes  = new int[count];
+		var  length = new long[count];
+		var  stack  = new ArrayDeque<BinaryNode<T>>();
+		int  index  = 0;
+		if (tree != BinaryNode.empty()) {
+			stack.push( tree );
+		}
+		while (!stack.isEmpty()) {
+			var node = stack.pop();
+			nodes[index++] = node;
+			if (node.right() != BinaryNode.empty()) {
+				stack.push( node.right() );
+			}
+			if (node.left() != BinaryNode.empty()) {
+				stack.push( node.left() );
+			}
+		}
+		for (int i = count - 1; i >= 0; i--) {
+			var node = nodes[i];
+			int left = i + 1;
+			sizes [i] = codec.size( node.value() );
+			length[i] = varintSize( sizes[i] ) + sizes[i]
+					+ encodedSize( node.left(),  length, left )
+					+ encodedSize( node.right(), length, left + (int)node.left().size() );
+		}
+
+		var buffer = ByteBuffer.allocate( BUFFER ).order( ByteOrder.LITTLE_ENDIAN );
+		buffer.putInt( MAGIC ).putInt( VERSION );
+		index = 0;
+		stack.push( tree );
+		while (!stack.isEmpty()) {
+			var node = stack.pop();
+			if (buffer.remaining() < 1 + 2 * 10) {
+				drain( buffer, out );
+			}
+			if (node == BinaryNode.empty()) {
+				buffer.put( EMPTY_TAG );
+				continue;
+			}
+			int size = sizes[index];
+			buffer.put( NODE_TAG );
+			putVarint( buffer, length[index++] );
+			putVarint( buffer, size );
+			if (size > buffer.remaining()) {
+				drain( buffer, out );
+			}
+			var target = size > buffer.remaining() ? ByteBuffer.allocate( size ).order( ByteOrder.LITTLE_ENDIAN ) : buffer;
+			int start  = target.position();
+			codec.write( node.value(), target );
+			if (target.position() - start != size) {
+				throw new IllegalStateException("value codec wrote %d bytes instead of %d".formatted( target.position() - start, size ));
+			}
+			if (target != buffer) {
+				drain( target, out );
+			}
+			stack.push( node.right() );
+			stack.push( node.left() );
+		}
+		drain( buffer, out );
+	}
+
+	/**
+	 * Reads one tree from {@code in}. Input is buffered, so bytes after the
+	 * tree may have been consumed as well.
+	 */
+	public BinaryNode<T> read(ReadableByteChannel in) throws IOException {
+		if (in == null) {
+			throw new IllegalArgumentException();
+		}
+		var source = new Source( in, ByteBuffer.allocate( BUFFER ).flip() );
+		source.header();
+		return source.tree();
+	}
+	/**
+	 * Reads one tree from the remaining bytes of {@code buffer}.
+	 */
+	public BinaryNode<T> read(ByteBuffer buffer) throws IOException {
+		if (buffer == null) {
+			throw new IllegalArgumentException();
+		}
+		var source = new Source( null, buffer.duplicate() );
+		source.header();
+		return source.tree();
+	}
+	/**
+	 * Maps {@code file} read-only and returns its root, to be navigated or
+	 * decoded on demand. The file must fit in one mapping, below 2 GiB.
+	 */
+	public Subtree map(Path file) throws IOException {
+		try (var channel = FileChannel.open( file, StandardOpenOption.READ )) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("'%s' is too large to map".formatted( file ));
+			}
+			return root( channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() ));
+		}
+	}
+	/**
+	 * Returns the root of the tree in {@code buffer}, from its position on.
+	 */
+	public Subtree root(ByteBuffer buffer) throws IOException {
+		if (buffer == null) {
+			throw new IllegalArgumentException();
+		}
+		var bytes = buffer.slice().order( ByteOrder.LITTLE_ENDIAN );
+		if (bytes.remaining() < HEADER + 1 || bytes.getInt( 0 ) != MAGIC || bytes.getInt( 4 ) != VERSION) {
+			throw new IOException("not an encoded tree");
+		}
+		return new Subtree( bytes, HEADER );
+	}
+
+	/**
+	 * An encoded subtree, read in place. Values are decoded on every call to
+	 * {@link #value()}; {@link #right()} skips the left subtree by its length.
+	 */
+	public final class Subtree {
+		private final ByteBuffer bytes;
+		private final int        offset;
+
+		private Subtree(ByteBuffer bytes, int offset) {
+			this.bytes  = bytes;
+			this.offset = offset;
+		}
+
+		public boolean isEmpty() {
+			return bytes.get( offset ) == EMPTY_TAG;
+		}
+		/**
+		 * Returns the number of bytes this subtree takes up.
+		 */
+		public long byteLength() {
+			if (isEmpty()) {
+				return 1;
+			}
+			var  cursor = bytes.duplicate().position( offset + 1 );
+			long length = getVarint( cursor );
+			return cursor.position() - offset + length;
+		}
+		public T value() {
+			var cursor = valueStart();
+			int size   = (int)getVarint( cursor );
+			return codec.read( cursor.slice().limit( size ).order( ByteOrder.LITTLE_ENDIAN ));
+		}
+		public Subtree left() {
+			var cursor = valueStart();
+			int size   = (int)getVarint( cursor );
+			return new Subtree( bytes, cursor.position() + size );
+		}
+		public Subtree right() {
+			var left = left();
+			return new Subtree( bytes, left.offset + (int)left.byteLength() );
+		}
+		/**
+		 * Decodes this subtree into {@code BinaryNode}s.
+		 */
+		public BinaryNode<T> decode() throws IOException {
+			return new Source( null, bytes.duplicate().position( offset ).limit( offset + (int)byteLength() )).tree();
+		}
+
+		private ByteBuffer valueStart() {
+			if (isEmpty()) {
+				throw new UnsupportedOperationException();
+			}
+			var cursor = bytes.duplicate().position( offset + 1 );
+			getVarint( cursor );
+			return cursor;
+		}
+	}
+
+	/**
+	 * Buffered input from a channel, or from a buffer alone when the channel
+	 * is null.
+	 */
+	private final class Source {
+		private final ReadableByteChannel channel;
+		private ByteBuffer                buffer;
+		private long                      consumed;             // bytes compacted out of the buffer
+
+		Source(ReadableByteChannel channel, ByteBuffer buffer) {
+			this.channel = channel;
+			this.buffer  = buffer.order( ByteOrder.LITTLE_ENDIAN );
+		}
+
+		void header() throws IOException {
+			require( HEADER );
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				throw new IOException("not an encoded tree");
+			}
+		}
+		/**
+		 * Rebuilds one tree from the preorder stream: every node waits on the
+		 * stack until its two subtrees are complete.
+		 */
+		BinaryNode<T> tree() throws IOException {
+			var values  = new ArrayDeque<T>();
+			var lefts   = new ArrayDeque<BinaryNode<T>>();      // finished left subtrees of the nodes whose right one is pending
+			var waiting = new BitSet();                         // by stack depth, set while that node still waits for its left subtree
+			var ends    = new long[16];                         // by stack depth, where that node's subtree has to end in the input
+			while (true) {
+				require( 1 );
+				byte          tag = buffer.get();
+				BinaryNode<T> done;
+				if (tag == NODE_TAG) {
+					long length = subtreeLength();
+					long end    = position() + length;
+					int  size   = valueSize( length );
+					require( size );
+					var value = codec.read( buffer.slice().limit( size ).order( ByteOrder.LITTLE_ENDIAN ));
+					buffer.position( buffer.position() + size );
+					values.push( value );
+					int depth = values.size() - 1;
+					if (depth == ends.length) {
+						ends = Arrays.copyOf( ends, 2 * depth );
+					}
+					ends[depth] = end;
+					waiting.set( depth );
+					continue;
+				}
+				if (tag != EMPTY_TAG) {
+					throw new IOException("corrupt tree: tag %d".formatted( tag ));
+				}
+				done = BinaryNode.empty();
+				while (true) {
+					if (values.isEmpty()) {
+						return done;
+					}
+					int depth = values.size() - 1;
+					if (waiting.get( depth )) {
+						waiting.clear( depth );
+						lefts.push( done );
+						break;
+					}
+					if (position() != ends[depth]) {
+						throw new IOException("corrupt tree: subtree ends at byte %d, not %d".formatted( position(), ends[depth] ));
+					}
+					done = BinaryNode.of( values.pop(), lefts.pop(), done );
+				}
+			}
+		}
+
+		/**
+		 * Reads the subtree length of a node, which must fit in the bytes left
+		 * when there is no channel to read more from.
+		 */
+		private long subtreeLength() throws IOException {
+			long length = varint();
+			if (length < 0 || length > Integer.MAX_VALUE || channel == null && length > buffer.remaining()) {
+				throw new IOException("corrupt tree: subtree length %s".formatted( Long.toUnsignedString( length )));
+			}
+			return length;
+		}
+		/**
+		 * Reads the value size of a node, which must leave room in its subtree
+		 * for the size itself and a byte for each child.
+		 */
+		private int valueSize(long length) throws IOException {
+			long size = varint();
+			if (size < 0 || size > length - varintSize( size ) - 2) {
+				throw new IOException("corrupt tree: value size %s in a subtree of %d bytes".formatted( Long.toUnsignedString( size ), length ));
+			}
+			return (int)size;
+		}
+		private long position() {
+			return consumed + buffer.position();
+		}
+		private long varint() throws IOException {
+			long value = 0;
+			for (int shift = 0; shift < Long.SIZE; shift += 7) {
+				require( 1 );
+				byte b = buffer.get();
+				value |= (long)(b & 0x7F) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+			throw new IOException("corrupt tree: varint too long");
+		}
+		/**
+		 * Makes sure {@code count} bytes are buffered, reading and growing the
+		 * buffer as needed. The buffer only doubles once it is full, so a
+		 * corrupt length costs no more memory than the input really holds.
+		 */
+		private void require(int count) throws IOException {
+			if (buffer.remaining() >= count) {
+				return;
+			}
+			if (channel == null) {
+				throw new EOFException("encoded tree is truncated");
+			}
+			consumed += buffer.position();
+			buffer.compact();
+			while (buffer.position() < count) {
+				if (!buffer.hasRemaining()) {
+					buffer = ByteBuffer.allocate( (int)Math.min( count, 2L * buffer.capacity() )).order( ByteOrder.LITTLE_ENDIAN ).put( buffer.flip() );
+				}
+				if (channel.read( buffer ) < 0) {
+					throw new EOFException("encoded tree is truncated");
+				}
+			}
+			buffer.flip();
+		}
+	}
+
+	private static long encodedSize(BinaryNode<?> node, long[] length, int index) {
+		return node == BinaryNode.empty() ? 1 : 1 + varintSize( length[index] ) + length[index];
+	}
+	private static void drain(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			out.write( buffer );
+		}
+		buffer.clear();
+	}
+
+	static int varintSize(long value) {
+		return Math.max( 1, (Long.SIZE - Long.numberOfLeadingZeros( value ) + 6) / 7 );
+	}
+	static void putVarint(ByteBuffer out, long value) {
+		for (; (value & ~0x7FL) != 0; value >>>= 7) {
+			out.put( (byte)(value | 0x80) );
+		}
+		out.put( (byte)value );
+	}
+	static long getVarint(ByteBuffer in) {
+		long value = 0;
+		for (int shift = 0; shift < Long.SIZE; shift += 7) {
+			byte b = in.get();
+			value |= (long)(b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("varint too long");
+	}
+}
@@ -0,0 +1,209 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Builds whole {@link BinaryNode} trees in linear time.
+ * <p>
+ * {@link #balanced} hangs a sorted sequence under its middle element and each
+ * half under its own middle, so an in-order traversal gives the sequence back
+ * and the height is the least possible, {@code ceil(log2(n + 1))}.
+ * {@link #fromTraversals} rebuilds the one tree with the given pre- and
+ * in-order traversals.
+ */
+public final class BinaryTreeBuilder {
+	public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+	private BinaryTreeBuilder() {
+	}
+
+	public static <E> BinaryNode<E> balanced(List<? extends E> sorted) {
+		if (sorted == null) {
+			throw new IllegalArgumentException();
+		}
+		return balanced( sorted, 0, sorted.size() );
+	}
+	/**
+	 * Builds from {@code sorted} as it is read. A spliterator that knows its
+	 * exact size is consumed in one pass with no copy, any other is listed
+	 * first.
+	 */
+	public static <E> BinaryNode<E> balanced(Spliterator<? extends E> sorted) {
+		if (sorted == null) {
+			throw new IllegalArgumentException();
+		}
+		long size = sorted.getExactSizeIfKnown();
+		if (size < 0) {
+			return balanced( list( sorted ));
+		}
+		var tree = BinaryTreeBuilder.<E>balanced( sorted, size );
+		if (sorted.tryAdvance( value -> { } )) {
+			throw new IllegalStateException("spliterator has more elements than its size");
+		}
+		return tree;
+	}
+	/**
+	 * Builds the same tree as {@link #balanced(List)}, forking halves of at
+	 * least {@code threshold} elements on the common fork-join pool. The list
+	 * should offer fast random access.
+	 */
+	public static <E> BinaryNode<E> balancedParallel(List<? extends E> sorted, int threshold) {
+		if (sorted == null || threshold < 1) {
+			throw new IllegalArgumentException();
+		}
+		return new Balance<E>( sorted, 0, sorted.size(), threshold ).invoke();
+	}
+	public static <E> BinaryNode<E> balancedParallel(List<? extends E> sorted) {
+		return balancedParallel( sorted, DEFAULT_THRESHOLD );
+	}
+
+	/**
+	 * Rebuilds the tree with the given traversals, whose values must be
+	 * distinct. A map from value to in-order position replaces the search for
+	 * each root, and the nodes are linked by index with one stack before they
+	 * are built children first, so the work is O(n) and no depth of tree
+	 * recurses.
+	 *
+	 * @throws IllegalArgumentException if a value repeats or the traversals do
+	 *                                  not describe one tree
+	 */
+	public static <E> BinaryNode<E> fromTraversals(List<? extends E> preorder, List<? extends E> inorder) {
+		if (preorder == null || inorder == null) {
+			throw new IllegalArgumentException();
+		}
+		int size = preorder.size();
+		if (inorder.size() != size) {
+			throw new IllegalArgumentException("traversals differ in length");
+		}
+		var positions = new HashMap<E, Integer>( (int)(size / 0.75f) + 1 );
+		for (int i = 0; i < size; i++) {
+			if (positions.put( inorder.get( i ), i ) != null) {
+				throw new IllegalArgumentException("value '%s' repeats".formatted( inorder.get( i )));
+			}
+		}
+		// node i is preorder[i]; position[i] is where it is in inorder
+		var position = new int[size];
+		for (int i = 0; i < size; i++) {
+			var at = positions.get( preorder.get( i ));
+			if (at == null) {
+				throw new IllegalArgumentException("value '%s' is missing from the inorder traversal".formatted( preorder.get( i )));
+			}
+			position[i] = at;
+		}
+		var left  = new int[size];
+		var right = new int[size];
+		var stack = new int[size];
+		int top   = 0;
+		// each node is the left child of the node before it unless that one is
+		// already complete in inorder; then it is the right child of the last
+		// ancestor completed
+		for (int i = 0, next = 0; i < size; i++) {
+			left [i] = FlatBinaryTree.NONE;
+			right[i] = FlatBinaryTree.NONE;
+			if (top > 0 && position[stack[top - 1]] != next) {
+				left[stack[top - 1]] = i;
+			}
+			else if (top > 0) {
+				int parent;
+				do {
+					parent = stack[--top];
+					next++;
+				} while (top > 0 && position[stack[top - 1]] == next);
+				right[parent] = i;
+			}
+			stack[top++] = i;
+		}
+		check( position, left, right, stack );
+
+		@SuppressWarnings("unchecked")
+		var nodes = (BinaryNode<E>[])new BinaryNode<?>[size];
+		for (int i = size - 1; i >= 0; i--) {
+			nodes[i] = BinaryNode.of( preorder.get( i ), node( nodes, left[i] ), node( nodes, right[i] ));
+		}
+		return size == 0 ? BinaryNode.empty() : nodes[0];
+	}
+
+	// a balanced tree is only log2(n) deep, so the builders recurse
+	private static <E> BinaryNode<E> balanced(List<? extends E> sorted, int from, int to) {
+		if (from >= to) {
+			return BinaryNode.empty();
+		}
+		int middle = (from + to) >>> 1;
+		return BinaryNode.of( sorted.get( middle ), balanced( sorted, from, middle ), balanced( sorted, middle + 1, to ));
+	}
+	/**
+	 * Builds the next {@code size} elements: the left half is read first, then
+	 * the root, then the right half.
+	 */
+	private static <E> BinaryNode<E> balanced(Spliterator<? extends E> sorted, long size) {
+		if (size == 0) {
+			return BinaryNode.empty();
+		}
+		long leftSize = size >>> 1;
+		var  left     = BinaryTreeBuilder.<E>balanced( sorted, leftSize );
+		var  root     = new ArrayList<E>( 1 );
+		if (!sorted.tryAdvance( root::add )) {
+			throw new IllegalStateException("spliterator has fewer elements than its size");
+		}
+		return BinaryNode.of( root.get( 0 ), left, balanced( sorted, size - leftSize - 1 ));
+	}
+	private static <E> List<E> list(Spliterator<? extends E> sorted) {
+		var values = new ArrayList<E>();
+		sorted.forEachRemaining( values::add );
+		return values;
+	}
+
+	/**
+	 * Walks the linked nodes in order and makes sure every one is reached at
+	 * the in-order position it was given.
+	 */
+	private static void check(int[] position, int[] left, int[] right, int[] stack) {
+		int top   = 0;
+		int count = 0;
+		for (int node = position.length == 0 ? FlatBinaryTree.NONE : 0; node != FlatBinaryTree.NONE || top > 0; ) {
+			for (; node != FlatBinaryTree.NONE; node = left[node]) {
+				stack[top++] = node;
+			}
+			node = stack[--top];
+			if (position[node] != count++) {
+				throw new IllegalArgumentException("traversals do not describe one tree");
+			}
+			node = right[node];
+		}
+		if (count != position.length) {
+			throw new IllegalArgumentException("traversals do not describe one tree");
+		}
+	}
+	private static <E> BinaryNode<E> node(BinaryNode<E>[] nodes, int index) {
+		return index == FlatBinaryTree.NONE ? BinaryNode.empty() : nodes[index];
+	}
+
+	private static final class Balance<E> extends RecursiveTask<BinaryNode<E>> {
+		private static final long serialVersionUID = 1L;
+
+		private final List<? extends E> sorted;
+		private final int               from;
+		private final int               to;
+		private final int               threshold;
+
+		Balance(List<? extends E> sorted, int from, int to, int threshold) {
+			this.sorted    = sorted;
+			this.from      = from;
+			this.to        = to;
+			this.threshold = threshold;
+		}
+		@Override
+		protected BinaryNode<E> compute() {
+			if (to - from < threshold) {
+				return balanced( sorted, from, to );
+			}
+			int middle = (from + to) >>> 1;
+			var left   = new Balance<E>( sorted, from, middle, threshold );
+			left.fork();
+			var right  = new Balance<E>( sorted, middle + 1, to, threshold ).compute();
+			return BinaryNode.of( sorted.get( middle ), left.join(), right );
+		}
+	}
+}
@@ -1,7 +1,11 @@
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
 
 public class BinaryTreeTraversal<E> {
 	private TraversalStrategy<E> strat;
+	private TraversalCache cache;
 	
 	public BinaryTreeTraversal (TraversalStrategy<E> s) {
 		if (s == null) {
@@ -9,6 +13,10 @@ public class BinaryTreeTraversal<E> {
 		}
 		this.setStrategy(s);
 	}
+	public BinaryTreeTraversal (TraversalStrategy<E> s, TraversalCache c) {
+		this(s);
+		this.setCache(c);
+	}
 	public void setStrategy(TraversalStrategy<E> s) {
 		if (s == null) {
 			throw new IllegalArgumentException();
@@ -17,11 +25,45 @@ public class BinaryTreeTraversal<E> {
 			this.strat = s;
 		}
 	}
+	/**
+	 * Makes {@link #getTraversal} go through {@code c}, which may be shared
+	 * with other traversals; null turns caching off.
+	 */
+	public void setCache(TraversalCache c) {
+		this.cache = c;
+	}
 	public List<E> getTraversal(BinaryNode <E> root){
 		if (root == null) {
 			throw new IllegalArgumentException();
 		}
+		if (cache != null) {
+			return cache.getTraversal(strat, root);
+		}
 		return strat.getTraversal(root);
 	}
+	public Iterator<E> iterator(BinaryNode <E> root){
+		if (root == null) {
+			throw new IllegalArgumentException();
+		}
+		return strat.iterator(root);
+	}
+	public Stream<E> stream(BinaryNode <E> root){
+		if (root == null) {
+			throw new IllegalArgumentException();
+		}
+		return strat.stream(root);
+	}
+	public void forEach(BinaryNode <E> root, Consumer<? super E> action){
+		if (root == null || action == null) {
+			throw new IllegalArgumentException();
+		}
+		strat.forEach(root, action);
+	}
+	public <A, R> R collect(BinaryNode <E> root, Collector<? super E, A, R> collector){
+		if (root == null || collector == null) {
+			throw new IllegalArgumentException();
+		}
+		return strat.collect(root, collector);
+	}
 	
 }
@@ -0,0 +1,247 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Integer factorization backed by a smallest-prime-factor table.
+ * <p>
+ * The table covers the odd numbers below {@link #TABLE_LIMIT} and is filled
+ * once by a linear sieve, so each composite is written exactly once. Every odd
+ * composite below 2^24 has a smallest factor below 2^12, so one {@code char}
+ * per odd number suffices: 16 MiB for the whole table, with 0 marking a prime.
+ * Numbers in the table factor in O(log n); larger ones are trial-divided by
+ * the primes below 2^12 and the cofactor is split with Brent's variant of
+ * Pollard's rho, using {@link MillerRabin} to recognise prime pieces.
+ */
+final class Factorization {
+	static final int TABLE_LIMIT = 1 << 24;
+	static final int SMALL_LIMIT = 1 << 12;                     // sqrt(TABLE_LIMIT)
+
+	private Factorization() {
+	}
+
+	/**
+	 * Returns the prime factors of {@code n} in ascending order, with
+	 * multiplicity; empty for {@code n < 2}.
+	 */
+	static int[] factorize(int n) {
+		if (n < 2) {
+			return new int[0];
+		}
+		var factors = new int[Integer.SIZE];
+		int count   = 0;
+		for (int twos = Integer.numberOfTrailingZeros( n ); twos > 0; twos--) {
+			factors[count++] = 2;
+		}
+		n >>>= Integer.numberOfTrailingZeros( n );
+		if (n >= TABLE_LIMIT) {
+			for (int p : Table.SMALL_PRIMES) {
+				if ((long)p * p > n) {
+					break;
+				}
+				while (n % p == 0) {
+					factors[count++] = p;
+					n /= p;
+				}
+			}
+			if (n >= TABLE_LIMIT) {
+				// no factor below 2^12 left, so n is a prime or a product of two primes
+				if (MillerRabin.isPrime( n )) {
+					factors[count++] = n;
+				}
+				else {
+					int d = (int)rho( n );
+					factors[count++] = Math.min( d, n / d );
+					factors[count++] = Math.max( d, n / d );
+				}
+				n = 1;
+			}
+		}
+		while (n > 1) {
+			int p = Table.smallestFactor( n );
+			factors[count++] = p;
+			n /= p;
+		}
+		Arrays.sort( factors, 0, count );
+		return Arrays.copyOf( factors, count );
+	}
+
+	/**
+	 * Like {@link #factorize(int)} for longs.
+	 */
+	static long[] factorize(long n) {
+		if (n <= Integer.MAX_VALUE) {
+			return Arrays.stream( factorize( (int)Math.max( n, 0 ))).asLongStream().toArray();
+		}
+		var factors = new long[Long.SIZE];
+		int count   = 0;
+		for (int twos = Long.numberOfTrailingZeros( n ); twos > 0; twos--) {
+			factors[count++] = 2;
+		}
+		n >>>= Long.numberOfTrailingZeros( n );
+		for (int p : Table.SMALL_PRIMES) {
+			if ((long)p * p > n) {
+				break;
+			}
+			while (n % p == 0) {
+				factors[count++] = p;
+				n /= p;
+			}
+		}
+		var pending = new long[Long.SIZE];
+		int top     = 0;
+		if (n > 1) {
+			pending[top++] = n;
+		}
+		while (top > 0) {
+			long m = pending[--top];
+			if (m < TABLE_LIMIT) {
+				for (int p : factorize( (int)m )) {
+					factors[count++] = p;
+				}
+			}
+			else if (MillerRabin.isPrime( m )) {
+				factors[count++] = m;
+			}
+			else {
+				long d = rho( m );
+				pending[top++] = d;
+				pending[top++] = m / d;
+			}
+		}
+		Arrays.sort( factors, 0, count );
+		return Arrays.copyOf( factors, count );
+	}
+
+	/**
+	 * Returns the divisors of {@code n} strictly between 1 and {@code n}, in
+	 * ascending order, generated from its factorization in O(d(n) log d(n)).
+	 */
+	static IntStream divisors(int n) {
+		if (n < 2) {
+			return IntStream.empty();
+		}
+		var factors  = factorize( n );
+		var divisors = new int[divisorCount( factors )];
+		divisors[0]  = 1;
+		int count    = 1;
+		for (int i = 0; i < factors.length; ) {
+			int p    = factors[i];
+			int base = count;
+			int pow  = 1;
+			for (; i < factors.length && factors[i] == p; i++) {
+				pow *= p;
+				for (int j = 0; j < base; j++) {
+					divisors[count++] = divisors[j] * pow;
+				}
+			}
+		}
+		Arrays.sort( divisors );
+		return Arrays.stream( divisors, 1, divisors.length - 1 );
+	}
+
+	private static int divisorCount(int[] factors) {
+		int count = 1;
+		for (int i = 0; i < factors.length; ) {
+			int run = 0;
+			for (int p = factors[i]; i < factors.length && factors[i] == p; i++) {
+				run++;
+			}
+			count *= run + 1;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns a non-trivial factor of the odd composite {@code n}, using
+	 * Brent's cycle detection with batched gcds in Montgomery form.
+	 */
+	static long rho(long n) {
+		var mont = new MillerRabin.Montgomery( n );
+		for (long c = 1; ; c++) {
+			long y = 2, x = y, ys = y, q = 1, g = 1;
+			for (long r = 1; g == 1; r <<= 1) {
+				x = y;
+				for (long i = 0; i < r; i++) {
+					y = step( mont, y, c, n );
+				}
+				for (long k = 0; k < r && g == 1; k += 128) {
+					ys = y;
+					for (long i = Math.min( 128, r - k ); i > 0; i--) {
+						y = step( mont, y, c, n );
+						q = mont.multiply( q, x > y ? x - y : y - x );
+					}
+					g = gcd( q, n );
+				}
+			}
+			if (g == n) {
+				do {
+					ys = step( mont, ys, c, n );
+					g  = gcd( x > ys ? x - ys : ys - x, n );
+				} while (g == 1);
+			}
+			if (g != n) {
+				return g;
+			}
+		}
+	}
+
+	private static long step(MillerRabin.Montgomery mont, long y, long c, long n) {
+		long next = mont.multiply( y, y ) + c;
+		return Long.compareUnsigned( next, n ) >= 0 ? next - n : next;
+	}
+
+	private static long gcd(long a, long b) {
+		if (a == 0) {
+			return b;
+		}
+		int shift = Long.numberOfTrailingZeros( a | b );
+		a >>>= Long.numberOfTrailingZeros( a );
+		while (b != 0) {
+			b >>>= Long.numberOfTrailingZeros( b );
+			if (a > b) {
+				long t = a;
+				a = b;
+				b = t;
+			}
+			b -= a;
+		}
+		return a << shift;
+	}
+
+	/**
+	 * Smallest-prime-factor table for the odd numbers below {@link #TABLE_LIMIT},
+	 * built on first use.
+	 */
+	private static final class Table {
+		private static final int[]  SMALL_PRIMES;           // odd primes below SMALL_LIMIT
+		private static final char[] FACTOR = new char[TABLE_LIMIT / 2];
+
+		static {
+			var primes = new int[SMALL_LIMIT];
+			int count  = 0;
+			for (int i = 3; i < TABLE_LIMIT; i += 2) {
+				int smallest = FACTOR[i >>> 1];
+				if (smallest == 0) {
+					smallest = i;
+					if (i < SMALL_LIMIT) {
+						primes[count++] = i;
+					}
+				}
+				for (int k = 0; k < count; k++) {
+					int  p       = primes[k];
+					long product = (long)p * i;
+					if (p > smallest || product >= TABLE_LIMIT) {
+						break;
+					}
+					FACTOR[(int)(product >>> 1)] = (char)p;
+				}
+			}
+			SMALL_PRIMES = Arrays.copyOf( primes, count );
+		}
+
+		static int smallestFactor(int odd) {
+			int p = FACTOR[odd >>> 1];
+			return p == 0 ? odd : p;
+		}
+	}
+}
@@ -0,0 +1,221 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Array form of a {@link BinaryNode} tree: node {@code i} has its value in
+ * {@code values[i]} and the indices of its children in {@code left[i]} and
+ * {@code right[i]}, or {@link #NONE}. About 12 bytes per node against some 40
+ * for a {@code BinaryNode}, and no pointers to chase.
+ * <p>
+ * Nodes are numbered in preorder from the root at 0, so a preorder traversal
+ * is a scan of {@code values}, the left child of a node is always the next
+ * index and every subtree is a contiguous range. A shared subtree of a
+ * {@code BinaryNode} tree is stored once per place it appears.
+ */
+public final class FlatBinaryTree<E> {
+	public static final int NONE = -1;
+
+	private final Object[] values;
+	private final int[]    left;
+	private final int[]    right;
+	private final int      height;
+
+	private FlatBinaryTree(Object[] values, int[] left, int[] right, int height) {
+		this.values = values;
+		this.left   = left;
+		this.right  = right;
+		this.height = height;
+	}
+
+	public static <E> FlatBinaryTree<E> of(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		if (tree.size() > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("tree has too many nodes to flatten");
+		}
+		int size   = (int)tree.size();
+		var values = new Object[size];
+		var left   = new int[size];
+		var right  = new int[size];
+		// pending nodes, each with the slot that receives its index: 2*parent for a left child, 2*parent+1 for a right one
+		@SuppressWarnings("unchecked")
+		var nodes  = (BinaryNode<E>[])new BinaryNode<?>[tree.height() + 1];
+		var slots  = new int[tree.height() + 1];
+		int top    = 0;
+		if (tree != BinaryNode.empty()) {
+			nodes[top]   = tree;
+			slots[top++] = NONE;
+		}
+		for (int index = 0; top > 0; index++) {
+			var node = nodes[--top];
+			int slot = slots[top];
+			if (slot >= 0) {
+				((slot & 1) == 0 ? left : right)[slot >>> 1] = index;
+			}
+			values[index] = node.value();
+			left  [index] = NONE;
+			right [index] = NONE;
+			if (node.right() != BinaryNode.empty()) {
+				nodes[top]   = node.right();
+				slots[top++] = 2 * index + 1;
+			}
+			if (node.left() != BinaryNode.empty()) {
+				nodes[top]   = node.left();
+				slots[top++] = 2 * index;
+			}
+		}
+		return new FlatBinaryTree<>( values, left, right, tree.height() );
+	}
+
+	/**
+	 * Rebuilds the tree as {@code BinaryNode}s, children first.
+	 */
+	@SuppressWarnings("unchecked")
+	public BinaryNode<E> toBinaryNode() {
+		var nodes = (BinaryNode<E>[])new BinaryNode<?>[values.length];
+		for (int i = values.length - 1; i >= 0; i--) {
+			nodes[i] = BinaryNode.of( (E)values[i], node( nodes, left[i] ), node( nodes, right[i] ));
+		}
+		return values.length == 0 ? BinaryNode.empty() : nodes[0];
+	}
+
+	public int size() {
+		return values.length;
+	}
+	public int height() {
+		return height;
+	}
+	@SuppressWarnings("unchecked")
+	public E value(int node) {
+		return (E)values[node];
+	}
+	public int left(int node) {
+		return left[node];
+	}
+	public int right(int node) {
+		return right[node];
+	}
+
+	/**
+	 * Lists the values in the order of {@code strategy}.
+	 */
+	public List<E> getTraversal(TraversalStrategy<E> strategy) {
+		List<E> TR = new ArrayList<>( values.length );
+		forEach( strategy, TR::add );
+		return TR;
+	}
+	/**
+	 * Hands the values to {@code action} in the order of {@code strategy}. The
+	 * depth- and breadth-first strategies of this package run on the arrays;
+	 * any other strategy, including a subclass of one of them, gets the tree
+	 * rebuilt as {@code BinaryNode}s.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(TraversalStrategy<E> strategy, Consumer<? super E> action) {
+		if (strategy == null || action == null) {
+			throw new IllegalArgumentException();
+		}
+		// exact classes only: a subclass may list another order than its base
+		var type = strategy.getClass();
+		if (type == PreorderStrategy.class) {
+			for (Object value : values) {
+				action.accept( (E)value );
+			}
+		}
+		else if (type == InorderStrategy.class) {
+			inorder( action );
+		}
+		else if (type == PostorderStrategy.class) {
+			postorder( action );
+		}
+		else if (type == LevelOrderStrategy.class || type == ReverseLevelOrderStrategy.class || type == ZigzagStrategy.class) {
+			levels( strategy, action );
+		}
+		else {
+			strategy.forEach( toBinaryNode(), action );
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void inorder(Consumer<? super E> action) {
+		var stack = new int[height];
+		int top   = 0;
+		for (int node = values.length == 0 ? NONE : 0; node != NONE || top > 0; ) {
+			for (; node != NONE; node = left[node]) {
+				stack[top++] = node;
+			}
+			node = stack[--top];
+			action.accept( (E)values[node] );
+			node = right[node];
+		}
+	}
+	/**
+	 * Walks with a stack of indices; an index is stored complemented once its
+	 * children have been pushed. The stack holds the current path and at most
+	 * one pending sibling per level of it.
+	 */
+	@SuppressWarnings("unchecked")
+	private void postorder(Consumer<? super E> action) {
+		var stack = new int[2 * height];
+		int top   = 0;
+		if (values.length > 0) {
+			stack[top++] = 0;
+		}
+		while (top > 0) {
+			int node = stack[top - 1];
+			if (node < 0) {
+				top--;
+				action.accept( (E)values[~node] );
+				continue;
+			}
+			stack[top - 1] = ~node;
+			if (right[node] != NONE) {
+				stack[top++] = right[node];
+			}
+			if (left[node] != NONE) {
+				stack[top++] = left[node];
+			}
+		}
+	}
+	/**
+	 * Lists the nodes breadth-first into one array, which is its own queue, and
+	 * notes where each level starts; the three level orders read it forwards,
+	 * backwards by level or alternating.
+	 */
+	@SuppressWarnings("unchecked")
+	private void levels(TraversalStrategy<E> strategy, Consumer<? super E> action) {
+		var order  = new int[values.length];
+		var starts = new int[height + 1];
+		int tail   = 0;
+		if (values.length > 0) {
+			order[tail++] = 0;
+		}
+		for (int level = 0, head = 0; head < tail; level++) {
+			starts[level] = head;
+			for (int end = tail; head < end; head++) {
+				int node = order[head];
+				if (left[node] != NONE) {
+					order[tail++] = left[node];
+				}
+				if (right[node] != NONE) {
+					order[tail++] = right[node];
+				}
+			}
+		}
+		starts[height] = tail;
+		for (int level = 0; level < height; level++) {
+			boolean reversed = strategy.getClass() == ZigzagStrategy.class && (level & 1) == 1;
+			int     from     = strategy.getClass() == ReverseLevelOrderStrategy.class ? height - 1 - level : level;
+			for (int i = starts[from]; i < starts[from + 1]; i++) {
+				int node = order[reversed ? starts[from] + starts[from + 1] - 1 - i : i];
+				action.accept( (E)values[node] );
+			}
+		}
+	}
+
+	private static <E> BinaryNode<E> node(BinaryNode<E>[] nodes, int index) {
+		return index == NONE ? BinaryNode.empty() : nodes[index];
+	}
+}
@@ -1,19 +1,70 @@
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 public class InorderStrategy<E> implements TraversalStrategy<E> {
 	@Override
 	public List<E> getTraversal(BinaryNode<E> tree) {
-		List <E> TR = new ArrayList();
 		if (tree == null) {
 			throw new IllegalArgumentException();
 		}
-		if (tree != BinaryNode.empty()) {
-			TR.addAll(getTraversal(tree.left()));
-			TR.add(tree.value());
-			TR.addAll(getTraversal(tree.right()));
-		}
+		List <E> TR = new ArrayList<>((int)Math.min(tree.size(), Integer.MAX_VALUE));
+		forEach(tree, TR::add);
 		return TR;
 	}
+	@Override
+	public void forEach(BinaryNode<E> tree, Consumer<? super E> action) {
+		if (tree == null || action == null) {
+			throw new IllegalArgumentException();
+		}
+		Deque<BinaryNode<E>> stack = new ArrayDeque<>();
+		var node = tree;
+		while (node != BinaryNode.empty() || !stack.isEmpty()) {
+			// walk down the left spine, then list the deepest pending node and turn right
+			while (node != BinaryNode.empty()) {
+				stack.push(node);
+				node = node.left();
+			}
+			node = stack.pop();
+			action.accept(node.value());
+			node = node.right();
+		}
+	}
+	@Override
+	public Iterator<E> iterator(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		return new Inorder<>(tree);
+	}
 
+	private static final class Inorder<E> implements Iterator<E> {
+		private final Deque<BinaryNode<E>> stack = new ArrayDeque<>();
+
+		Inorder(BinaryNode<E> tree) {
+			descend(tree);
+		}
+		@Override
+		public boolean hasNext() {
+			return !stack.isEmpty();
+		}
+		@Override
+		public E next() {
+			if (stack.isEmpty()) {
+				throw new NoSuchElementException();
+			}
+			var node = stack.pop();
+			descend(node.right());
+			return node.value();
+		}
+		private void descend(BinaryNode<E> node) {
+			for (; node != BinaryNode.empty(); node = node.left()) {
+				stack.push(node);
+			}
+		}
+	}
 }
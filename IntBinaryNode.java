@@ -0,0 +1,38 @@
+/**
+ * Immutable binary tree node with an unboxed {@code int} value, shaped like
+ * {@link BinaryNode} and traversed into {@code int[]} by the
+ * {@link IntTraversalStrategy} constants.
+ */
+public final class IntBinaryNode extends PrimitiveBinaryNode<IntBinaryNode> {
+	private static final IntBinaryNode EMPTY = new IntBinaryNode();
+
+	private final int value;
+
+	public static IntBinaryNode empty() {
+		return EMPTY;
+	}
+	public static IntBinaryNode of(int value) {
+		return IntBinaryNode.of( value, empty(), empty() );
+	}
+	public static IntBinaryNode of(int value, IntBinaryNode left, IntBinaryNode right) {
+		return new IntBinaryNode( value, left, right );
+	}
+	private IntBinaryNode() {
+		this.value = 0;
+	}
+	private IntBinaryNode(int value, IntBinaryNode left, IntBinaryNode right) {
+		super( Integer.hashCode( value ), left, right );
+		this.value = value;
+	}
+
+	public int value() {
+		if (isEmpty()) {
+			throw new UnsupportedOperationException();
+		}
+		return value;
+	}
+	@Override
+	boolean sameValue(IntBinaryNode other) {
+		return value == other.value;
+	}
+}
@@ -0,0 +1,52 @@
+import java.util.function.IntConsumer;
+
+/**
+ * Traversal of {@link IntBinaryNode} trees into unboxed {@code int}s. The
+ * three depth-first orders are the constants below.
+ */
+public interface IntTraversalStrategy {
+	IntTraversalStrategy PREORDER  = of( PrimitiveBinaryNode.Order.PRE  );
+	IntTraversalStrategy INORDER   = of( PrimitiveBinaryNode.Order.IN   );
+	IntTraversalStrategy POSTORDER = of( PrimitiveBinaryNode.Order.POST );
+
+	/**
+	 * Hands the values of {@code tree} to {@code action} in traversal order.
+	 */
+	void forEach(IntBinaryNode tree, IntConsumer action);
+
+	default int[] getTraversal(IntBinaryNode tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		if (tree.size() > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("tree has too many nodes to list");
+		}
+		var values = new int[(int)tree.size()];
+		getTraversal( tree, values, 0 );
+		return values;
+	}
+	/**
+	 * Writes the values of {@code tree} in traversal order into {@code buffer}
+	 * from {@code offset} on, and returns how many were written.
+	 */
+	default int getTraversal(IntBinaryNode tree, int[] buffer, int offset) {
+		if (tree == null || buffer == null) {
+			throw new IllegalArgumentException();
+		}
+		if (offset < 0 || tree.size() > buffer.length - offset) {
+			throw new IllegalArgumentException("buffer cannot hold the tree from offset " + offset);
+		}
+		int[] next = { offset };
+		forEach( tree, value -> buffer[next[0]++] = value );
+		return next[0] - offset;
+	}
+
+	private static IntTraversalStrategy of(PrimitiveBinaryNode.Order order) {
+		return (tree, action) -> {
+			if (tree == null || action == null) {
+				throw new IllegalArgumentException();
+			}
+			order.walk( tree, node -> action.accept( node.value() ));
+		};
+	}
+}
@@ -0,0 +1,125 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Breadth-first traversal: level by level from the root, each level from left
+ * to right.
+ * <p>
+ * The queue is an {@link ArrayDeque}, a ring buffer, sized up front from a
+ * bound on the widest level so a traversal rarely has to grow it. Besides the
+ * flat order, {@link #forEachLevel} hands out one list per level as soon as
+ * that level is complete.
+ */
+public class LevelOrderStrategy<E> implements TraversalStrategy<E> {
+	private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+	@Override
+	public List<E> getTraversal(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		List <E> TR = new ArrayList<>((int)Math.min(tree.size(), Integer.MAX_VALUE));
+		forEach(tree, TR::add);
+		return TR;
+	}
+	@Override
+	public void forEach(BinaryNode<E> tree, Consumer<? super E> action) {
+		if (tree == null || action == null) {
+			throw new IllegalArgumentException();
+		}
+		Deque<BinaryNode<E>> queue = queue(tree);
+		while (!queue.isEmpty()) {
+			var node = queue.poll();
+			action.accept(node.value());
+			offerChildren(queue, node);
+		}
+	}
+	@Override
+	public Iterator<E> iterator(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		var queue = queue(tree);
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return !queue.isEmpty();
+			}
+			@Override
+			public E next() {
+				if (queue.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+				var node = queue.poll();
+				offerChildren(queue, node);
+				return node.value();
+			}
+		};
+	}
+	/**
+	 * Returns the values of {@code tree} grouped by level, root level first.
+	 */
+	public List<List<E>> getLevels(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		List<List<E>> levels = new ArrayList<>(tree.height());
+		forEachLevel(tree, levels::add);
+		return levels;
+	}
+	/**
+	 * Hands each level of {@code tree} to {@code action} as a new list, root
+	 * level first, as soon as the level has been read.
+	 */
+	public void forEachLevel(BinaryNode<E> tree, Consumer<? super List<E>> action) {
+		if (tree == null || action == null) {
+			throw new IllegalArgumentException();
+		}
+		Deque<BinaryNode<E>> queue = queue(tree);
+		while (!queue.isEmpty()) {
+			List<E> level = new ArrayList<>(queue.size());
+			for (int count = queue.size(); count > 0; count--) {
+				var node = queue.poll();
+				level.add(node.value());
+				offerChildren(queue, node);
+			}
+			action.accept(level);
+		}
+	}
+
+	/**
+	 * Returns a queue holding {@code tree}, unless it is empty, with room for
+	 * the widest level of {@code tree}.
+	 */
+	static <E> Deque<BinaryNode<E>> queue(BinaryNode<E> tree) {
+		Deque<BinaryNode<E>> queue = new ArrayDeque<>(initialCapacity(tree));
+		if (tree != BinaryNode.empty()) {
+			queue.offer(tree);
+		}
+		return queue;
+	}
+	/**
+	 * Bounds the width of {@code tree}: a level of depth d holds at most 2^d
+	 * nodes, and every node off the longest path could share one level.
+	 */
+	private static int initialCapacity(BinaryNode<?> tree) {
+		long width = tree.size() - tree.height() + 1;
+		if (tree.height() > 0 && tree.height() < Long.SIZE) {
+			width = Math.min(width, 1L << (tree.height() - 1));
+		}
+		return (int)Math.max(1, Math.min(width, MAX_INITIAL_CAPACITY));
+	}
+	private static <E> void offerChildren(Deque<BinaryNode<E>> queue, BinaryNode<E> node) {
+		if (node.left() != BinaryNode.empty()) {
+			queue.offer(node.left());
+		}
+		if (node.right() != BinaryNode.empty()) {
+			queue.offer(node.right());
+		}
+	}
+}
@@ -0,0 +1,38 @@
+/**
+ * Immutable binary tree node with an unboxed {@code long} value, shaped like
+ * {@link BinaryNode} and traversed into {@code long[]} by the
+ * {@link LongTraversalStrategy} constants.
+ */
+public final class LongBinaryNode extends PrimitiveBinaryNode<LongBinaryNode> {
+	private static final LongBinaryNode EMPTY = new LongBinaryNode();
+
+	private final long value;
+
+	public static LongBinaryNode empty() {
+		return EMPTY;
+	}
+	public static LongBinaryNode of(long value) {
+		return LongBinaryNode.of( value, empty(), empty() );
+	}
+	public static LongBinaryNode of(long value, LongBinaryNode left, LongBinaryNode right) {
+		return new LongBinaryNode( value, left, right );
+	}
+	private LongBinaryNode() {
+		this.value = 0;
+	}
+	private LongBinaryNode(long value, LongBinaryNode left, LongBinaryNode right) {
+		super( Long.hashCode( value ), left, right );
+		this.value = value;
+	}
+
+	public long value() {
+		if (isEmpty()) {
+			throw new UnsupportedOperationException();
+		}
+		return value;
+	}
+	@Override
+	boolean sameValue(LongBinaryNode other) {
+		return value == other.value;
+	}
+}
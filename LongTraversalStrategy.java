@@ -0,0 +1,52 @@
+import java.util.function.LongConsumer;
+
+/**
+ * Traversal of {@link LongBinaryNode} trees into unboxed {@code long}s. The
+ * three depth-first orders are the constants below.
+ */
+public interface LongTraversalStrategy {
+	LongTraversalStrategy PREORDER  = of( PrimitiveBinaryNode.Order.PRE  );
+	LongTraversalStrategy INORDER   = of( PrimitiveBinaryNode.Order.IN   );
+	LongTraversalStrategy POSTORDER = of( PrimitiveBinaryNode.Order.POST );
+
+	/**
+	 * Hands the values of {@code tree} to {@code action} in traversal order.
+	 */
+	void forEach(LongBinaryNode tree, LongConsumer action);
+
+	default long[] getTraversal(LongBinaryNode tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		if (tree.size() > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("tree has too many nodes to list");
+		}
+		var values = new long[(int)tree.size()];
+		getTraversal( tree, values, 0 );
+		return values;
+	}
+	/**
+	 * Writes the values of {@code tree} in traversal order into {@code buffer}
+	 * from {@code offset} on, and returns how many were written.
+	 */
+	default int getTraversal(LongBinaryNode tree, long[] buffer, int offset) {
+		if (tree == null || buffer == null) {
+			throw new IllegalArgumentException();
+		}
+		if (offset < 0 || tree.size() > buffer.length - offset) {
+			throw new IllegalArgumentException("buffer cannot hold the tree from offset " + offset);
+		}
+		int[] next = { offset };
+		forEach( tree, value -> buffer[next[0]++] = value );
+		return next[0] - offset;
+	}
+
+	private static LongTraversalStrategy of(PrimitiveBinaryNode.Order order) {
+		return (tree, action) -> {
+			if (tree == null || action == null) {
+				throw new IllegalArgumentException();
+			}
+			order.walk( tree, node -> action.accept( node.value() ));
+		};
+	}
+}
@@ -0,0 +1,151 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * {@link PrimeBitmap} served straight from a memory-mapped prime bitmap file.
+ * <p>
+ * The file holds a 32-byte header followed by the odd-only bitset of
+ * {@link OddBitmap} as little-endian longs:
+ * <pre>
+ *   int  magic     "PRIM"
+ *   int  version   1
+ *   long limit     covered range is [0, limit), a multiple of 128
+ *   long checksum  CRC-32 of the bitset bytes
+ *   long reserved
+ * </pre>
+ * Opening a file only checks the header, so a warm start costs no parsing and
+ * JVMs mapping the same file share its pages through the OS page cache.
+ */
+final class MappedBitmap implements PrimeBitmap {
+	static final int  MAGIC     = 0x5052494D;
+	static final int  VERSION   = 1;
+	static final int  HEADER    = 32;
+	static final int  MAX_LIMIT = Integer.MAX_VALUE & -128;
+
+	private final MappedByteBuffer buffer;
+	private final int              limit;
+	private final int              words;
+
+	private MappedBitmap(MappedByteBuffer buffer, int limit) {
+		this.buffer = buffer;
+		this.limit  = limit;
+		this.words  = limit >>> 7;
+	}
+
+	/**
+	 * Sieves {@code [0, limit)} segment by segment into a new bitmap file.
+	 * {@code limit} is rounded up to a multiple of 128 (at most 2^31 - 128).
+	 */
+	static void write(Path file, int limit) throws IOException {
+		if (limit < 0) {
+			throw new IllegalArgumentException("limit cannot be negative");
+		}
+		int rounded = (int)Math.min( MAX_LIMIT, (limit + 127L) & -128L );
+		var crc     = new CRC32();
+		var words   = new long[PrimeSieve.SEGMENT_WORDS];
+		var bytes   = ByteBuffer.allocateDirect( PrimeSieve.SEGMENT_WORDS * Long.BYTES ).order( ByteOrder.LITTLE_ENDIAN );
+		try (var channel = FileChannel.open( file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING )) {
+			channel.position( HEADER );
+			for (long low = 0; low < rounded; low += PrimeSieve.SEGMENT_SPAN) {
+				int bits = (int)Math.min( PrimeSieve.SEGMENT_BITS, (rounded - low) >>> 1 );
+				PrimeSieve.sieve( low, words, bits );
+				bytes.clear();
+				bytes.asLongBuffer().put( words, 0, bits >>> 6 );
+				bytes.limit( (bits >>> 6) * Long.BYTES );
+				crc.update( bytes.duplicate() );
+				while (bytes.hasRemaining()) {
+					channel.write( bytes );
+				}
+			}
+			var header = ByteBuffer.allocate( HEADER ).order( ByteOrder.LITTLE_ENDIAN );
+			header.putInt( MAGIC ).putInt( VERSION ).putLong( rounded ).putLong( crc.getValue() ).putLong( 0 ).flip();
+			while (header.hasRemaining()) {
+				channel.write( header, header.position() );
+			}
+		}
+	}
+
+	/**
+	 * Maps {@code file} read-only. With {@code verify} the bitset is read once
+	 * to check its checksum; otherwise only the header is validated.
+	 */
+	static MappedBitmap open(Path file, boolean verify) throws IOException {
+		try (var channel = FileChannel.open( file, StandardOpenOption.READ )) {
+			long size = channel.size();
+			if (size < HEADER) {
+				throw new IOException("'%s' is not a prime bitmap file".formatted( file ));
+			}
+			var buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, size );
+			buffer.order( ByteOrder.LITTLE_ENDIAN );
+			long limit = buffer.getLong( 8 );
+			if (buffer.getInt( 0 ) != MAGIC || buffer.getInt( 4 ) != VERSION) {
+				throw new IOException("'%s' is not a prime bitmap file".formatted( file ));
+			}
+			if (limit < 0 || limit > MAX_LIMIT || (limit & 127) != 0 || size != HEADER + (limit >>> 7) * Long.BYTES) {
+				throw new IOException("'%s' has a corrupt header".formatted( file ));
+			}
+			if (verify) {
+				var crc = new CRC32();
+				crc.update( buffer.duplicate().position( HEADER ));
+				if (crc.getValue() != buffer.getLong( 16 )) {
+					throw new IOException("'%s' failed its checksum".formatted( file ));
+				}
+			}
+			return new MappedBitmap( buffer, (int)limit );
+		}
+	}
+
+	@Override
+	public int limit() {
+		return limit;
+	}
+	@Override
+	public boolean isPrime(int n) {
+		if ((n & 1) == 0) {
+			return n == 2;
+		}
+		int bit = n >>> 1;
+		return (word( bit >>> 6 ) & (1L << bit)) != 0;
+	}
+	@Override
+	public int nextPrime(int from) {
+		if (from <= 2) {
+			return limit > 2 ? 2 : -1;
+		}
+		if (from >= limit) {
+			return -1;
+		}
+		int  bit  = from >>> 1;
+		int  word = bit >>> 6;
+		long mask = word( word ) & (-1L << bit);
+		while (mask == 0) {
+			if (++word == words) {
+				return -1;
+			}
+			mask = word( word );
+		}
+		return ((word << 6) + Long.numberOfTrailingZeros( mask )) * 2 + 1;
+	}
+	/**
+	 * Copies the mapped bitset onto the heap and sieves the rest.
+	 */
+	@Override
+	public PrimeBitmap extend(int limit) {
+		if (limit <= this.limit) {
+			return this;
+		}
+		var copy = new long[words];
+		buffer.duplicate().order( ByteOrder.LITTLE_ENDIAN ).position( HEADER ).asLongBuffer().get( copy );
+		return OddBitmap.of( copy, this.limit ).extend( limit );
+	}
+
+	private long word(int index) {
+		return buffer.getLong( HEADER + index * Long.BYTES );
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * Deterministic Miller-Rabin primality test.
+ * <p>
+ * Ints are decided by the witnesses {2, 7, 61}, which are exact below
+ * 4,759,123,141; longs use the seven Sinclair witnesses, which are exact for
+ * every 64-bit input. Both run in O(log^3 n) after a trial division by the
+ * primes below 64 filters out most composites.
+ */
+final class MillerRabin {
+	private static final int[]  SMALL_PRIMES   = { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 59, 61 };
+	private static final int    SMALL_LIMIT    = 67 * 67;   // below this, surviving the pre-filter means prime
+	private static final long[] INT_WITNESSES  = { 2, 7, 61 };
+	private static final long[] LONG_WITNESSES = { 2, 325, 9375, 28178, 450775, 9780504, 1795265022 };
+
+	private MillerRabin() {
+	}
+
+	static boolean isPrime(int n) {
+		if (n < 2) {
+			return false;
+		}
+		for (int p : SMALL_PRIMES) {
+			if (n % p == 0) {
+				return n == p;
+			}
+		}
+		if (n < SMALL_LIMIT) {
+			return true;
+		}
+		int d = (n - 1) >>> Integer.numberOfTrailingZeros( n - 1 );
+		int s = Integer.numberOfTrailingZeros( n - 1 );
+		for (long a : INT_WITNESSES) {
+			if (!isStrongProbablePrime( n, a, d, s )) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static boolean isPrime(long n) {
+		if (n <= Integer.MAX_VALUE) {
+			return isPrime( (int)Math.max( n, 0 ));
+		}
+		for (int p : SMALL_PRIMES) {
+			if (n % p == 0) {
+				return false;
+			}
+		}
+		var montgomery = new Montgomery( n );
+		long d = (n - 1) >>> Long.numberOfTrailingZeros( n - 1 );
+		int  s = Long.numberOfTrailingZeros( n - 1 );
+		for (long a : LONG_WITNESSES) {
+			if (!montgomery.isStrongProbablePrime( a, d, s )) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isStrongProbablePrime(long n, long a, long d, int s) {
+		a %= n;
+		if (a == 0) {
+			return true;
+		}
+		long x = 1;
+		for (long e = d; e > 0; e >>>= 1) {
+			if ((e & 1) != 0) {
+				x = x * a % n;
+			}
+			a = a * a % n;
+		}
+		if (x == 1 || x == n - 1) {
+			return true;
+		}
+		for (int i = 1; i < s; i++) {
+			x = x * x % n;
+			if (x == n - 1) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Montgomery arithmetic modulo an odd {@code n < 2^63}, so 64-bit products
+	 * can be reduced without 128-bit division.
+	 */
+	static final class Montgomery {
+		private final long n;
+		private final long negInverse;                      // -n^-1 mod 2^64
+		private final long one;                             // R mod n
+		private final long r2;                              // R^2 mod n
+
+		Montgomery(long n) {
+			this.n = n;
+			long inverse = n;                               // correct to 3 bits for odd n
+			for (int i = 0; i < 5; i++) {
+				inverse *= 2 - n * inverse;
+			}
+			this.negInverse = -inverse;
+			this.one        = Long.remainderUnsigned( -n, n );
+			long r = one;
+			for (int i = 0; i < Long.SIZE; i++) {
+				r <<= 1;
+				if (Long.compareUnsigned( r, n ) >= 0) {
+					r -= n;
+				}
+			}
+			this.r2 = r;
+		}
+
+		long toMontgomery(long a) {
+			return multiply( a % n, r2 );
+		}
+		long multiply(long a, long b) {
+			return reduce( unsignedMultiplyHigh( a, b ), a * b );
+		}
+		private long reduce(long high, long low) {
+			long m = low * negInverse;
+			long t = high + unsignedMultiplyHigh( m, n ) + (low != 0 ? 1 : 0);
+			return Long.compareUnsigned( t, n ) >= 0 ? t - n : t;
+		}
+
+		boolean isStrongProbablePrime(long a, long d, int s) {
+			if (a % n == 0) {
+				return true;
+			}
+			long minusOne = n - one;
+			long base     = toMontgomery( a );
+			long x        = one;
+			for (long e = d; e > 0; e >>>= 1) {
+				if ((e & 1) != 0) {
+					x = multiply( x, base );
+				}
+				base = multiply( base, base );
+			}
+			if (x == one || x == minusOne) {
+				return true;
+			}
+			for (int i = 1; i < s; i++) {
+				x = multiply( x, x );
+				if (x == minusOne) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static long unsignedMultiplyHigh(long a, long b) {
+			return Math.multiplyHigh( a, b ) + ((a >> 63) & b) + ((b >> 63) & a);
+		}
+	}
+}
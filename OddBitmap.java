@@ -0,0 +1,73 @@
+/**
+ * {@link PrimeBitmap} storing one bit per odd number: bit {@code i} of
+ * {@code words} stands for {@code 2*i + 1}. All ints fit in 128 MiB.
+ */
+final class OddBitmap implements PrimeBitmap {
+	static final OddBitmap EMPTY = new OddBitmap( new long[0], 0 );
+
+	private final long[] words;
+	private final int    limit;
+
+	private OddBitmap(long[] words, int limit) {
+		this.words = words;
+		this.limit = limit;
+	}
+
+	/**
+	 * Wraps already sieved {@code words} covering {@code [0, limit)}.
+	 */
+	static OddBitmap of(long[] words, int limit) {
+		return new OddBitmap( words, limit );
+	}
+
+	@Override
+	public int limit() {
+		return limit;
+	}
+	@Override
+	public boolean isPrime(int n) {
+		if ((n & 1) == 0) {
+			return n == 2;
+		}
+		int bit = n >>> 1;
+		return (words[bit >>> 6] & (1L << bit)) != 0;
+	}
+	@Override
+	public int nextPrime(int from) {
+		if (from <= 2) {
+			return limit > 2 ? 2 : -1;
+		}
+		if (from >= limit) {
+			return -1;
+		}
+		int  bit  = from >>> 1;
+		int  word = bit >>> 6;
+		long mask = words[word] & (-1L << bit);
+		while (mask == 0) {
+			if (++word == words.length) {
+				return -1;
+			}
+			mask = words[word];
+		}
+		return ((word << 6) + Long.numberOfTrailingZeros( mask )) * 2 + 1;
+	}
+	/**
+	 * Copies the covered words into a larger array and sieves only the new
+	 * tail, one cache-sized segment at a time. The tail starts at the word
+	 * holding the old limit, which is sieved again in full, and bits at or
+	 * past the new limit are left clear.
+	 */
+	@Override
+	public OddBitmap extend(int limit) {
+		if (limit <= this.limit) {
+			return this;
+		}
+		var grown = new long[(int)((limit + 127L) >>> 7)];
+		System.arraycopy( words, 0, grown, 0, words.length );
+		for (long low = this.limit & -128; low < limit; low += PrimeSieve.SEGMENT_SPAN) {
+			int bits = (int)Math.min( PrimeSieve.SEGMENT_BITS, (limit - low) >>> 1 );
+			PrimeSieve.sieve( low, grown, (int)(low >>> 7), bits );
+		}
+		return new OddBitmap( grown, limit );
+	}
+}
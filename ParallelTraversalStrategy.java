@@ -0,0 +1,143 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Runs {@link #getTraversal} of a {@link PreorderStrategy},
+ * {@link InorderStrategy} or {@link PostorderStrategy} on the common fork-join
+ * pool. Subclasses of those are rejected, as their order is not known.
+ * <p>
+ * Every node knows its subtree size, so the offset of each subtree in the
+ * result follows from the sizes of its siblings. A task places the root of a
+ * subtree at or above the threshold and goes on into its larger child, forking
+ * the smaller one only if that is at or above the threshold too; smaller
+ * subtrees are listed by the wrapped strategy straight into one shared array.
+ * <p>
+ * {@link #iterator} and {@link #forEach} are sequential and go to the wrapped
+ * strategy, since they hand values out one at a time in order.
+ */
+public class ParallelTraversalStrategy<E> implements TraversalStrategy<E> {
+	public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+	private enum Order { PRE, IN, POST }
+
+	private final TraversalStrategy<E> sequential;
+	private final Order                order;
+	private final int                  threshold;
+
+	public ParallelTraversalStrategy(TraversalStrategy<E> sequential) {
+		this( sequential, DEFAULT_THRESHOLD );
+	}
+	public ParallelTraversalStrategy(TraversalStrategy<E> sequential, int threshold) {
+		if (sequential == null || threshold < 1) {
+			throw new IllegalArgumentException();
+		}
+		// exact classes only: a subclass may list another order than its base
+		if (sequential.getClass() == PreorderStrategy.class) {
+			this.order = Order.PRE;
+		}
+		else if (sequential.getClass() == InorderStrategy.class) {
+			this.order = Order.IN;
+		}
+		else if (sequential.getClass() == PostorderStrategy.class) {
+			this.order = Order.POST;
+		}
+		else {
+			throw new IllegalArgumentException("only the pre-, in- and post-order strategies can be split");
+		}
+		this.sequential = sequential;
+		this.threshold  = threshold;
+	}
+
+	/**
+	 * Returns a resizable list, like the other strategies.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<E> getTraversal(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		if (tree.size() > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("tree has too many nodes to list");
+		}
+		var values = new Object[(int)tree.size()];
+		new Fill( tree, values, 0 ).invoke();
+		return new ArrayList<>( Arrays.asList( (E[])values ));
+	}
+	TraversalStrategy<E> sequential() {
+		return sequential;
+	}
+	@Override
+	public Iterator<E> iterator(BinaryNode<E> tree) {
+		return sequential.iterator( tree );
+	}
+	@Override
+	public void forEach(BinaryNode<E> tree, Consumer<? super E> action) {
+		sequential.forEach( tree, action );
+	}
+
+	private final class Fill extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final BinaryNode<E> node;
+		private final Object[]      values;
+		private final int           offset;
+
+		Fill(BinaryNode<E> node, Object[] values, int offset) {
+			this.node   = node;
+			this.values = values;
+			this.offset = offset;
+		}
+		/**
+		 * Walks down the larger child in this task, placing each root, and forks
+		 * the smaller child only when it is at or above the threshold as well.
+		 * A skewed tree is then one loop rather than one task per node.
+		 */
+		@Override
+		protected void compute() {
+			var forked = new ArrayDeque<Fill>();
+			var node   = this.node;
+			int offset = this.offset;
+			while (node.size() >= threshold) {
+				int leftSize = (int)node.left().size();
+				int left     = order == Order.PRE ? offset + 1 : offset;
+				int right    = order == Order.IN  ? left + leftSize + 1 : left + leftSize;
+				int root     = switch (order) {
+					case PRE  -> offset;
+					case IN   -> left + leftSize;
+					case POST -> right + (int)node.right().size();
+				};
+				values[root] = node.value();
+				boolean leftLarger = leftSize >= node.right().size();
+				var     smaller    = leftLarger ? node.right() : node.left();
+				int     at         = leftLarger ? right : left;
+				if (smaller.size() >= threshold) {
+					var task = new Fill( smaller, values, at );
+					task.fork();
+					forked.push( task );
+				}
+				else {
+					fill( smaller, at );
+				}
+				node   = leftLarger ? node.left() : node.right();
+				offset = leftLarger ? left : right;
+			}
+			fill( node, offset );
+			while (!forked.isEmpty()) {
+				forked.pop().join();
+			}
+		}
+		private void fill(BinaryNode<E> node, int offset) {
+			if (node.size() == 0) {
+				return;
+			}
+			int[] next = { offset };
+			sequential.forEach( node, value -> values[next[0]++] = value );
+		}
+	}
+}
@@ -0,0 +1,269 @@
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable sorted map kept as an AVL tree of {@link BinaryNode}s whose values
+ * are the entries, ordered by key.
+ * <p>
+ * {@link #put} and {@link #remove} copy only the path from the root to the
+ * change, O(log n) nodes, and share the rest with the map they were called on,
+ * which stays valid. A map can therefore be read from any number of threads
+ * without locking; publishing a new version through a volatile field or an
+ * {@code AtomicReference} is all writers need. Balance is checked with the
+ * heights every {@code BinaryNode} already keeps, and {@link InorderStrategy}
+ * over {@link #tree()} lists the entries in key order.
+ */
+public final class PersistentSortedMap<K, V> {
+	private final BinaryNode<Map.Entry<K, V>> root;
+	private final Comparator<? super K>       comparator;
+
+	private PersistentSortedMap(BinaryNode<Map.Entry<K, V>> root, Comparator<? super K> comparator) {
+		this.root       = root;
+		this.comparator = comparator;
+	}
+
+	public static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> empty() {
+		return new PersistentSortedMap<>( BinaryNode.empty(), Comparator.naturalOrder() );
+	}
+	public static <K, V> PersistentSortedMap<K, V> empty(Comparator<? super K> comparator) {
+		if (comparator == null) {
+			throw new IllegalArgumentException();
+		}
+		return new PersistentSortedMap<>( BinaryNode.empty(), comparator );
+	}
+
+	public BinaryNode<Map.Entry<K, V>> tree() {
+		return root;
+	}
+	public long size() {
+		return root.size();
+	}
+	public boolean isEmpty() {
+		return isEmpty( root );
+	}
+	public Comparator<? super K> comparator() {
+		return comparator;
+	}
+
+	/**
+	 * Returns the value of {@code key}, or null if it has none.
+	 */
+	public V get(K key) {
+		check( key );
+		for (var node = root; !isEmpty( node ); ) {
+			int order = comparator.compare( key, node.value().getKey() );
+			if (order == 0) {
+				return node.value().getValue();
+			}
+			node = order < 0 ? node.left() : node.right();
+		}
+		return null;
+	}
+	public boolean containsKey(K key) {
+		return get( key ) != null;
+	}
+	/**
+	 * Returns the entry with the greatest key at most {@code key}, or null.
+	 */
+	public Map.Entry<K, V> floor(K key) {
+		check( key );
+		Map.Entry<K, V> best = null;
+		for (var node = root; !isEmpty( node ); ) {
+			int order = comparator.compare( key, node.value().getKey() );
+			if (order == 0) {
+				return node.value();
+			}
+			if (order < 0) {
+				node = node.left();
+			}
+			else {
+				best = node.value();
+				node = node.right();
+			}
+		}
+		return best;
+	}
+	/**
+	 * Returns the entry with the least key at least {@code key}, or null.
+	 */
+	public Map.Entry<K, V> ceiling(K key) {
+		check( key );
+		Map.Entry<K, V> best = null;
+		for (var node = root; !isEmpty( node ); ) {
+			int order = comparator.compare( key, node.value().getKey() );
+			if (order == 0) {
+				return node.value();
+			}
+			if (order > 0) {
+				node = node.right();
+			}
+			else {
+				best = node.value();
+				node = node.left();
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns this map with {@code key} mapped to {@code value}.
+	 */
+	public PersistentSortedMap<K, V> put(K key, V value) {
+		check( key );
+		if (value == null) {
+			throw new IllegalArgumentException();
+		}
+		var tree = put( root, Map.entry( key, value ));
+		return tree == root ? this : new PersistentSortedMap<>( tree, comparator );
+	}
+	/**
+	 * Returns this map without {@code key}.
+	 */
+	public PersistentSortedMap<K, V> remove(K key) {
+		check( key );
+		var tree = remove( root, key );
+		return tree == root ? this : new PersistentSortedMap<>( tree, comparator );
+	}
+
+	/**
+	 * Streams the entries with keys in {@code [from, to)}, in key order. The
+	 * stream descends to {@code from} once and then walks the tree lazily, so
+	 * a short range costs O(log n) plus its length.
+	 */
+	public Stream<Map.Entry<K, V>> range(K from, K to) {
+		check( from );
+		check( to );
+		var spliterator = Spliterators.spliteratorUnknownSize( new Range( from, to ), Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT );
+		return StreamSupport.stream( spliterator, false );
+	}
+	public Stream<Map.Entry<K, V>> entries() {
+		return new InorderStrategy<Map.Entry<K, V>>().stream( root );
+	}
+
+	// the updates recurse along one path, which AVL balance keeps below 1.45 log2(n) nodes
+	private BinaryNode<Map.Entry<K, V>> put(BinaryNode<Map.Entry<K, V>> node, Map.Entry<K, V> entry) {
+		if (isEmpty( node )) {
+			return BinaryNode.of( entry );
+		}
+		int order = comparator.compare( entry.getKey(), node.value().getKey() );
+		if (order == 0) {
+			return node.value().getValue().equals( entry.getValue() ) ? node : BinaryNode.of( entry, node.left(), node.right() );
+		}
+		if (order < 0) {
+			var left = put( node.left(), entry );
+			return left == node.left() ? node : balance( node.value(), left, node.right() );
+		}
+		var right = put( node.right(), entry );
+		return right == node.right() ? node : balance( node.value(), node.left(), right );
+	}
+	private BinaryNode<Map.Entry<K, V>> remove(BinaryNode<Map.Entry<K, V>> node, K key) {
+		if (isEmpty( node )) {
+			return node;
+		}
+		int order = comparator.compare( key, node.value().getKey() );
+		if (order < 0) {
+			var left = remove( node.left(), key );
+			return left == node.left() ? node : balance( node.value(), left, node.right() );
+		}
+		if (order > 0) {
+			var right = remove( node.right(), key );
+			return right == node.right() ? node : balance( node.value(), node.left(), right );
+		}
+		if (isEmpty( node.left() )) {
+			return node.right();
+		}
+		if (isEmpty( node.right() )) {
+			return node.left();
+		}
+		var successor = node.right();
+		while (!isEmpty( successor.left() )) {
+			successor = successor.left();
+		}
+		return balance( successor.value(), node.left(), removeFirst( node.right() ));
+	}
+	private BinaryNode<Map.Entry<K, V>> removeFirst(BinaryNode<Map.Entry<K, V>> node) {
+		if (isEmpty( node.left() )) {
+			return node.right();
+		}
+		return balance( node.value(), removeFirst( node.left() ), node.right() );
+	}
+
+	/**
+	 * Joins two AVL trees whose heights differ by at most two under
+	 * {@code entry}, rotating once or twice if they differ by two.
+	 */
+	private static <E> BinaryNode<E> balance(E entry, BinaryNode<E> left, BinaryNode<E> right) {
+		int skew = left.height() - right.height();
+		if (skew > 1) {
+			if (left.left().height() >= left.right().height()) {
+				return BinaryNode.of( left.value(), left.left(), BinaryNode.of( entry, left.right(), right ));
+			}
+			var pivot = left.right();
+			return BinaryNode.of( pivot.value(),
+					BinaryNode.of( left.value(), left.left(), pivot.left() ),
+					BinaryNode.of( entry, pivot.right(), right ));
+		}
+		if (skew < -1) {
+			if (right.right().height() >= right.left().height()) {
+				return BinaryNode.of( right.value(), BinaryNode.of( entry, left, right.left() ), right.right() );
+			}
+			var pivot = right.left();
+			return BinaryNode.of( pivot.value(),
+					BinaryNode.of( entry, left, pivot.left() ),
+					BinaryNode.of( right.value(), pivot.right(), right.right() ));
+		}
+		return BinaryNode.of( entry, left, right );
+	}
+
+	private static boolean isEmpty(BinaryNode<?> node) {
+		return node == BinaryNode.empty();
+	}
+	private static void check(Object key) {
+		if (key == null) {
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/**
+	 * In-order walk from the ceiling of {@code from} that stops before {@code to}.
+	 */
+	private final class Range implements Iterator<Map.Entry<K, V>> {
+		private final ArrayDeque<BinaryNode<Map.Entry<K, V>>> stack = new ArrayDeque<>();
+		private final K                                       to;
+
+		Range(K from, K to) {
+			this.to = to;
+			for (var node = root; !isEmpty( node ); ) {
+				if (comparator.compare( node.value().getKey(), from ) >= 0) {
+					stack.push( node );
+					node = node.left();
+				}
+				else {
+					node = node.right();
+				}
+			}
+		}
+		@Override
+		public boolean hasNext() {
+			return !stack.isEmpty() && comparator.compare( stack.peek().value().getKey(), to ) < 0;
+		}
+		@Override
+		public Map.Entry<K, V> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			var node = stack.pop();
+			for (var next = node.right(); !isEmpty( next ); next = next.left()) {
+				stack.push( next );
+			}
+			return node.value();
+		}
+	}
+}
@@ -1,20 +1,99 @@
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 public class PostorderStrategy<E> implements TraversalStrategy<E> {
 
 	@Override
 	public List<E> getTraversal(BinaryNode<E> tree) {
-		List <E> TR = new ArrayList();
 		if (tree == null) {
 			throw new IllegalArgumentException();
 		}
+		List <E> TR = new ArrayList<>((int)Math.min(tree.size(), Integer.MAX_VALUE));
+		forEach(tree, TR::add);
+		return TR;
+	}
+	@Override
+	public void forEach(BinaryNode<E> tree, Consumer<? super E> action) {
+		if (tree == null || action == null) {
+			throw new IllegalArgumentException();
+		}
+		Deque<BinaryNode<E>> stack = new ArrayDeque<>();
+		// bit d is set once the node at stack depth d has had its children pushed; 
+		// a per-depth flag rather than "last visited" keeps shared subtrees correct
+		BitSet expanded = new BitSet();
 		if (tree != BinaryNode.empty()) {
-			TR.addAll(getTraversal(tree.left()));
-			TR.addAll(getTraversal(tree.right()));
-			TR.add(tree.value());
+			stack.push(tree);
 		}
-		return TR;
+		while (!stack.isEmpty()) {
+			int depth = stack.size() - 1;
+			var node  = stack.peek();
+			if (expanded.get(depth)) {
+				expanded.clear(depth);
+				stack.pop();
+				action.accept(node.value());
+				continue;
+			}
+			expanded.set(depth);
+			if (node.right() != BinaryNode.empty()) {
+				stack.push(node.right());
+			}
+			if (node.left() != BinaryNode.empty()) {
+				stack.push(node.left());
+			}
+		}
+	}
+	@Override
+	public Iterator<E> iterator(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		return new Postorder<>(tree);
 	}
 
+	private static final class Postorder<E> implements Iterator<E> {
+		private final Deque<BinaryNode<E>> stack    = new ArrayDeque<>();
+		private final BitSet               expanded = new BitSet();
+
+		Postorder(BinaryNode<E> tree) {
+			if (tree != BinaryNode.empty()) {
+				stack.push(tree);
+				expand();
+			}
+		}
+		@Override
+		public boolean hasNext() {
+			return !stack.isEmpty();
+		}
+		@Override
+		public E next() {
+			if (stack.isEmpty()) {
+				throw new NoSuchElementException();
+			}
+			expanded.clear(stack.size() - 1);
+			var node = stack.pop();
+			expand();
+			return node.value();
+		}
+		/**
+		 * Pushes children until the top of the stack is the next node to list.
+		 */
+		private void expand() {
+			while (!stack.isEmpty() && !expanded.get(stack.size() - 1)) {
+				var node = stack.peek();
+				expanded.set(stack.size() - 1);
+				if (node.right() != BinaryNode.empty()) {
+					stack.push(node.right());
+				}
+				if (node.left() != BinaryNode.empty()) {
+					stack.push(node.left());
+				}
+			}
+		}
+	}
 }
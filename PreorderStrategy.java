@@ -1,19 +1,71 @@
 import java.util.*;
+import java.util.function.Consumer;
 
 public class PreorderStrategy<E> implements TraversalStrategy<E> {
 
 	@Override
 	public List<E> getTraversal(BinaryNode<E> tree) {
-		List <E> TR = new ArrayList();
 		if (tree == null) {
 			throw new IllegalArgumentException();
 		}
+		List <E> TR = new ArrayList<>((int)Math.min(tree.size(), Integer.MAX_VALUE));
+		forEach(tree, TR::add);
+		return TR;
+	}
+	@Override
+	public void forEach(BinaryNode<E> tree, Consumer<? super E> action) {
+		if (tree == null || action == null) {
+			throw new IllegalArgumentException();
+		}
+		Deque<BinaryNode<E>> stack = new ArrayDeque<>();
 		if (tree != BinaryNode.empty()) {
-			TR.add(tree.value());
-			TR.addAll(getTraversal(tree.left()));
-			TR.addAll(getTraversal(tree.right()));
+			stack.push(tree);
+		}
+		while (!stack.isEmpty()) {
+			var node = stack.pop();
+			action.accept(node.value());
+			// right goes first so the left subtree is popped, and listed, before it
+			if (node.right() != BinaryNode.empty()) {
+				stack.push(node.right());
+			}
+			if (node.left() != BinaryNode.empty()) {
+				stack.push(node.left());
+			}
 		}
-		return TR;
 	}
+	@Override
+	public Iterator<E> iterator(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		return new Preorder<>(tree);
+	}
+
+	private static final class Preorder<E> implements Iterator<E> {
+		private final Deque<BinaryNode<E>> stack = new ArrayDeque<>();
 
+		Preorder(BinaryNode<E> tree) {
+			if (tree != BinaryNode.empty()) {
+				stack.push(tree);
+			}
+		}
+		@Override
+		public boolean hasNext() {
+			return !stack.isEmpty();
+		}
+		@Override
+		public E next() {
+			if (stack.isEmpty()) {
+				throw new NoSuchElementException();
+			}
+			var node = stack.pop();
+			if (node.right() != BinaryNode.empty()) {
+				stack.push(node.right());
+			}
+			if (node.left() != BinaryNode.empty()) {
+				stack.push(node.left());
+			}
+			return node.value();
+		}
+	}
 }
@@ -0,0 +1,184 @@
+import java.util.Optional;
+
+/**
+ * Prime statistics over {@code [lo, hi)} ranges below 2^32, read straight off
+ * the odd-only segments of {@link PrimeSieve}.
+ * <p>
+ * Counts use {@link Long#bitCount} per word; twin pairs are the bits set in
+ * both a word and its one-bit shift. Only gaps and residue classes visit
+ * individual primes, through {@link Long#numberOfTrailingZeros}. Nothing is
+ * boxed and memory stays at one segment.
+ */
+final class PrimeAnalytics {
+	static final long LIMIT = PrimeSieve.SIEVE_LIMIT;
+	static final int  MAX_K = 203_280_221;                      // pi(2^32)
+
+	private static final int[] FIRST = { 2, 3, 5, 7, 11 };
+
+	/**
+	 * Two consecutive primes {@code start < end}.
+	 */
+	record Gap(long start, long end) {
+		long length() {
+			return end - start;
+		}
+	}
+
+	private PrimeAnalytics() {
+	}
+
+	/**
+	 * Returns the {@code k}-th prime, counting 2 as the first.
+	 * <p>
+	 * Dusart's bound {@code p_k > k (ln k + ln ln k - 1)} gives a start point
+	 * below the answer, {@link PrimeCounting} counts the primes up to it, and
+	 * the remaining primes are counted by popcount up to Rosser's upper bound
+	 * {@code k (ln k + ln ln k)}.
+	 */
+	static long nthPrime(int k) {
+		if (k < 1 || k > MAX_K) {
+			throw new IllegalArgumentException("k must be between 1 and pi(2^32)");
+		}
+		if (k <= FIRST.length) {
+			return FIRST[k - 1];
+		}
+		double ln    = Math.log( k );
+		long   start = (long)(k * (ln + Math.log( ln ) - 1));
+		long   end   = Math.min( LIMIT, (long)(k * (ln + Math.log( ln ))) + 1 );
+		long[] state = { k - PrimeCounting.pi( start, false ), -1 };   // primes still to skip, answer
+		walk( start + 1, end, (low, words, bits) -> {
+			for (int i = 0, count = (bits + 63) >>> 6; i < count; i++) {
+				int found = Long.bitCount( words[i] );
+				if (found < state[0]) {
+					state[0] -= found;
+					continue;
+				}
+				long word = words[i];
+				for (long skip = state[0]; skip > 1; skip--) {
+					word &= word - 1;
+				}
+				state[1] = low + 2 * (64L * i + Long.numberOfTrailingZeros( word )) + 1;
+				return false;
+			}
+			return true;
+		});
+		return state[1];
+	}
+
+	/**
+	 * Counts the primes in {@code [lo, hi)}.
+	 */
+	static long count(long lo, long hi) {
+		check( lo, hi );
+		long[] total = { lo <= 2 && 2 < hi ? 1 : 0 };
+		walk( lo, hi, (low, words, bits) -> {
+			for (int i = 0, count = (bits + 63) >>> 6; i < count; i++) {
+				total[0] += Long.bitCount( words[i] );
+			}
+			return true;
+		});
+		return total[0];
+	}
+
+	/**
+	 * Counts the pairs {@code (p, p + 2)} of primes with both members in {@code [lo, hi)}.
+	 */
+	static long twinPrimes(long lo, long hi) {
+		check( lo, hi );
+		long[] state = { 0, 0 };                                // pairs, last bit of the previous segment
+		walk( lo, hi, (low, words, bits) -> {
+			int  count = (bits + 63) >>> 6;
+			long pairs = state[1] & words[0];
+			for (int i = 0; i < count; i++) {
+				long carry = i + 1 < count ? words[i + 1] << 63 : 0;
+				pairs += Long.bitCount( words[i] & (words[i] >>> 1 | carry) );
+			}
+			state[0] += pairs;
+			state[1]  = words[(bits - 1) >>> 6] >>> ((bits - 1) & 63) & 1;
+			return true;
+		});
+		return state[0];
+	}
+
+	/**
+	 * Returns the first of the widest gaps between consecutive primes in
+	 * {@code [lo, hi)}, or empty if the range holds fewer than two primes.
+	 */
+	static Optional<Gap> maxGap(long lo, long hi) {
+		check( lo, hi );
+		long[] state = { lo <= 2 && 2 < hi ? 2 : -1, 0, 0 };    // previous prime, best start, best end
+		walk( lo, hi, (low, words, bits) -> {
+			long previous = state[0], bestStart = state[1], bestEnd = state[2];
+			for (int i = 0, count = (bits + 63) >>> 6; i < count; i++) {
+				for (long word = words[i]; word != 0; word &= word - 1) {
+					long prime = low + 2 * (64L * i + Long.numberOfTrailingZeros( word )) + 1;
+					if (previous >= 0 && prime - previous > bestEnd - bestStart) {
+						bestStart = previous;
+						bestEnd   = prime;
+					}
+					previous = prime;
+				}
+			}
+			state[0] = previous;
+			state[1] = bestStart;
+			state[2] = bestEnd;
+			return true;
+		});
+		return state[2] == 0 ? Optional.empty() : Optional.of( new Gap( state[1], state[2] ));
+	}
+
+	/**
+	 * Returns, for each residue {@code r < modulus}, how many primes in
+	 * {@code [lo, hi)} are congruent to {@code r}.
+	 */
+	static long[] countByResidue(long lo, long hi, int modulus) {
+		check( lo, hi );
+		if (modulus < 1) {
+			throw new IllegalArgumentException("modulus must be positive");
+		}
+		var counts = new long[modulus];
+		if (lo <= 2 && 2 < hi) {
+			counts[2 % modulus]++;
+		}
+		walk( lo, hi, (low, words, bits) -> {
+			for (int i = 0, count = (bits + 63) >>> 6; i < count; i++) {
+				long first = low + 128L * i + 1;                    // number of bit 0 of this word
+				for (long word = words[i]; word != 0; word &= word - 1) {
+					counts[(int)((first + 2 * Long.numberOfTrailingZeros( word )) % modulus)]++;
+				}
+			}
+			return true;
+		});
+		return counts;
+	}
+
+	private static void check(long lo, long hi) {
+		if (hi > LIMIT) {
+			throw new IllegalArgumentException("hi cannot exceed 2^32");
+		}
+	}
+
+	private interface SegmentVisitor {
+		/**
+		 * Receives the odd-only bits of {@code [low, low + 2*bits)}; returns whether to go on.
+		 */
+		boolean visit(long low, long[] words, int bits);
+	}
+
+	/**
+	 * Sieves the odd numbers of {@code [lo, hi)} one segment at a time.
+	 */
+	private static void walk(long lo, long hi, SegmentVisitor visitor) {
+		var words = new long[PrimeSieve.SEGMENT_WORDS];
+		for (long low = Math.max( lo, 0 ) & -2L; low < hi; low += PrimeSieve.SEGMENT_SPAN) {
+			int bits = (int)Math.min( PrimeSieve.SEGMENT_BITS, (hi - low) >>> 1 );
+			if (bits == 0) {
+				break;
+			}
+			PrimeSieve.sieve( low, words, bits );
+			if (!visitor.visit( low, words, bits )) {
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Batch primality tests.
+ * <p>
+ * A first pass buckets the inputs: values the shared {@link PrimeTable} may
+ * cover for this batch size are answered by one table growth followed by bit
+ * probes; the rest go through Miller-Rabin. The second pass hands out 64
+ * inputs per task, so each result word has a single writer and large
+ * batches spread over the common fork-join pool.
+ */
+final class PrimeBatch {
+	private static final int PARALLEL_MIN = 1 << 12;
+	private static final int SIEVE_SHARE  = 64;                 // sieve span a single input may pay for
+
+	private PrimeBatch() {
+	}
+
+	static void isPrime(int[] in, BitSet out) {
+		if (in == null || out == null) {
+			throw new IllegalArgumentException("input and output cannot be null");
+		}
+		var table = sieveFor( IntStream.of( in ), in.length );
+		var words = new long[(in.length + 63) >>> 6];
+		words( words.length, in.length ).forEach( w -> {
+			long bits = 0;
+			for (int i = w << 6, end = Math.min( in.length, i + 64 ); i < end; i++) {
+				int n = in[i];
+				if (n < table.limit() ? n >= 0 && table.isPrime( n ) : MillerRabin.isPrime( n )) {
+					bits |= 1L << i;
+				}
+			}
+			words[w] = bits;
+		});
+		publish( words, in.length, out );
+	}
+
+	static void isPrime(long[] in, BitSet out) {
+		if (in == null || out == null) {
+			throw new IllegalArgumentException("input and output cannot be null");
+		}
+		var small = IntStream.range( 0, in.length ).filter( i -> in[i] >= 0 && in[i] <= Integer.MAX_VALUE ).map( i -> (int)in[i] );
+		var table = sieveFor( small, in.length );
+		var words = new long[(in.length + 63) >>> 6];
+		words( words.length, in.length ).forEach( w -> {
+			long bits = 0;
+			for (int i = w << 6, end = Math.min( in.length, i + 64 ); i < end; i++) {
+				long n = in[i];
+				if (n >= 0 && n < table.limit() ? table.isPrime( (int)n ) : MillerRabin.isPrime( n )) {
+					bits |= 1L << i;
+				}
+			}
+			words[w] = bits;
+		});
+		publish( words, in.length, out );
+	}
+
+	/**
+	 * Grows the shared table once so it covers every input below the span this
+	 * batch can amortize, and returns it.
+	 */
+	private static PrimeBitmap sieveFor(IntStream values, int count) {
+		long bound = Math.min( PrimeTable.MAX_LIMIT, Math.max( PrimeTable.PROBE_LIMIT, (long)SIEVE_SHARE * count ));
+		int  max   = values.filter( n -> n < bound ).max().orElse( 0 );
+		return PrimeTable.ensure( max + 1 );
+	}
+
+	private static IntStream words(int words, int count) {
+		var range = IntStream.range( 0, words );
+		return count >= PARALLEL_MIN ? range.parallel() : range;
+	}
+
+	private static void publish(long[] words, int count, BitSet out) {
+		out.clear( 0, count );
+		out.or( BitSet.valueOf( words ));
+	}
+}
@@ -0,0 +1,24 @@
+/**
+ * Read-only view of the primes below {@link #limit()}.
+ * <p>
+ * Implementations are immutable once published, so any number of threads may
+ * read one without synchronization.
+ */
+interface PrimeBitmap {
+	/**
+	 * Returns the exclusive upper bound of the numbers this bitmap covers.
+	 */
+	int limit();
+	/**
+	 * Returns whether {@code n} is prime; {@code n} must lie in {@code [0, limit())}.
+	 */
+	boolean isPrime(int n);
+	/**
+	 * Returns the smallest prime {@code >= from} below {@link #limit()}, or -1.
+	 */
+	int nextPrime(int from);
+	/**
+	 * Returns a bitmap covering {@code [0, limit)} that reuses this one's contents.
+	 */
+	PrimeBitmap extend(int limit);
+}
@@ -0,0 +1,110 @@
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Prime-counting function pi(n), the number of primes {@code <= n}.
+ * <p>
+ * Small arguments are answered from a popcount table built once from the
+ * segmented sieve. Larger ones use the Lucy_Hedgehog variant of the
+ * Legendre/Meissel sieve: it keeps S(v) for the O(sqrt n) distinct values
+ * {@code v = n / i} and removes the multiples of each prime p &lt;= sqrt n,
+ * for O(n^(3/4) / log n) work and O(sqrt n) memory. The parallel mode fans
+ * each prime's update out over the common fork-join pool.
+ */
+final class PrimeCounting {
+	static final int         SMALL_LIMIT  = 1 << 22;          // table covers [0, SMALL_LIMIT)
+	private static final int PARALLEL_MIN = 1 << 14;          // smallest block worth forking
+
+	private PrimeCounting() {
+	}
+
+	static long pi(long n, boolean parallel) {
+		if (n < 2) {
+			return 0;
+		}
+		if (n < SMALL_LIMIT) {
+			return SmallTable.pi( (int)n );
+		}
+		return lucy( n, parallel );
+	}
+
+	private static long lucy(long n, boolean parallel) {
+		long root = isqrt( n );
+		if (root > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("n is too large to count");
+		}
+		int r = (int)root;
+		var small = new long[r + 1];                            // small[v] = S(v)
+		var large = new long[r + 1];                            // large[i] = S(n / i)
+		for (int v = 1; v <= r; v++) {
+			small[v] = v - 1;
+			large[v] = n / v - 1;
+		}
+		for (int q = 2; q <= r; q++) {
+			if (small[q] == small[q - 1]) {
+				continue;                                       // q is composite
+			}
+			int  p           = q;
+			long primesBelow = small[p - 1];
+			long square      = (long)p * p;
+			int  last        = (int)Math.min( r, n / square );
+			// large[i] reads large[i*p], a higher index: sweep blocks upwards, each
+			// block only reading the still untouched block above it.
+			for (int lo = 1, hi; lo <= last; lo = hi + 1) {
+				hi = (int)Math.max( lo, Math.min( last, (long)lo * p - 1 ));
+				update( lo, hi, parallel, i -> {
+					long d = (long)i * p;
+					large[i] -= (d <= r ? large[(int)d] : small[(int)(n / d)]) - primesBelow;
+				});
+			}
+			// small[v] reads small[v/p], a lower index: sweep blocks downwards.
+			for (int hi = r, lo; hi >= square; hi = lo - 1) {
+				lo = (int)Math.max( square, hi / p + 1 );
+				update( lo, hi, parallel, v -> small[v] -= small[v / p] - primesBelow );
+			}
+		}
+		return large[1];
+	}
+
+	static long isqrt(long n) {
+		// the double root can be one too high, and squaring past 3037000499 overflows
+		long r = Math.min( (long)Math.sqrt( (double)n ), 3_037_000_499L );
+		while (r * r > n) {
+			r--;
+		}
+		while (r < 3_037_000_499L && (r + 1) * (r + 1) <= n) {
+			r++;
+		}
+		return r;
+	}
+
+	private static void update(int lo, int hi, boolean parallel, IntConsumer step) {
+		var range = IntStream.rangeClosed( lo, hi );
+		if (parallel && hi - lo >= PARALLEL_MIN) {
+			range = range.parallel();
+		}
+		range.forEach( step );
+	}
+
+	/**
+	 * Cumulative prime counts for {@code [0, SMALL_LIMIT)}, built on first use.
+	 */
+	private static final class SmallTable {
+		private static final long[] WORDS  = new long[SMALL_LIMIT / 128];
+		private static final int[]  BEFORE = new int[WORDS.length];   // primes in earlier words
+
+		static {
+			PrimeSieve.sieve( 0, WORDS, SMALL_LIMIT / 2 );
+			for (int i = 1; i < WORDS.length; i++) {
+				BEFORE[i] = BEFORE[i - 1] + Long.bitCount( WORDS[i - 1] );
+			}
+		}
+
+		static long pi(int n) {
+			int bit = (n - 1) >>> 1;                                 // index of the largest odd <= n
+			int word = bit >>> 6;
+			long mask = -1L >>> (63 - (bit & 63));
+			return 1 + BEFORE[word] + Long.bitCount( WORDS[word] & mask );
+		}
+	}
+}
@@ -0,0 +1,22 @@
+/**
+ * Bitmap layouts the shared {@link PrimeTable} can be built with.
+ */
+enum PrimeEngine {
+	/** One bit per odd number; 128 MiB for all ints. */
+	ODD  ( OddBitmap.EMPTY ),
+	/** Eight bits per 30 numbers on a 2*3*5 wheel; about 68 MiB for all ints. */
+	WHEEL( WheelBitmap.EMPTY );
+
+	private final PrimeBitmap empty;
+
+	PrimeEngine(PrimeBitmap empty) {
+		this.empty = empty;
+	}
+
+	/**
+	 * Returns a bitmap of this layout covering nothing, to {@link PrimeBitmap#extend(int) extend} from.
+	 */
+	PrimeBitmap empty() {
+		return empty;
+	}
+}
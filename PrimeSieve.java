@@ -0,0 +1,201 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Segmented, odd-only Sieve of Eratosthenes over the non-negative ints.
+ * <p>
+ * Bit {@code i} of a segment starting at the even number {@code low} stands for
+ * {@code low + 2*i + 1}; a set bit means prime. A segment is sized to stay in
+ * the L1 data cache while it is being marked, so enumerating every prime below
+ * {@link Integer#MAX_VALUE} needs only the segment and the base primes up to
+ * its square root. The base primes reach 2^16, so {@link #sieve} itself works
+ * for any segment below 2^32.
+ */
+final class PrimeSieve {
+	static final int  SEGMENT_WORDS = 1 << 12;              // 32 KiB of bits
+	static final int  SEGMENT_BITS  = SEGMENT_WORDS * Long.SIZE;
+	static final int  SEGMENT_SPAN  = SEGMENT_BITS * 2;     // numbers covered per segment
+	static final int  MAX_LIMIT     = Integer.MAX_VALUE;    // exclusive upper bound of the streams
+	static final long SIEVE_LIMIT   = 1L << 32;             // exclusive upper bound of sieve()
+
+	private static final int[] BASE_PRIMES = basePrimes( 1 << 16 );
+
+	private PrimeSieve() {
+	}
+
+	/**
+	 * Lazily streams the primes in {@code [from, to)}, sieving one segment at a time.
+	 * The stream splits on segment boundaries, so a parallel pipeline sieves each
+	 * segment on the worker that consumes it.
+	 */
+	static IntStream stream(int from, int to) {
+		return StreamSupport.intStream( new Segments( from, to ), false );
+	}
+
+	/**
+	 * Sieves the odd numbers in {@code [low, low + 2*bits)} into {@code words}.
+	 * {@code low} must be even, the range below {@link #SIEVE_LIMIT}; bits past
+	 * {@code bits} are cleared.
+	 */
+	static void sieve(long low, long[] words, int bits) {
+		sieve( low, words, 0, bits );
+	}
+	/**
+	 * Like {@link #sieve(long, long[], int)}, writing from {@code words[offset]}.
+	 */
+	static void sieve(long low, long[] words, int offset, int bits) {
+		int count = (bits + Long.SIZE - 1) >>> 6;
+		Arrays.fill( words, offset, offset + count, -1L );
+		if ((bits & 63) != 0) {
+			words[offset + count - 1] = -1L >>> (Long.SIZE - (bits & 63));
+		}
+		long high = low + 2L * bits;
+		for (int p : BASE_PRIMES) {
+			long square = (long)p * p;
+			if (square >= high) {
+				break;
+			}
+			long start = Math.max( square, (low + p - 1) / p * p );
+			if ((start & 1) == 0) {
+				start += p;
+			}
+			for (long i = (start - low) >>> 1; i < bits; i += p) {
+				words[offset + (int)(i >>> 6)] &= ~(1L << i);
+			}
+		}
+		if (low == 0) {
+			words[offset] &= ~1L;                            // 1 is not prime
+		}
+	}
+
+	/**
+	 * Returns the odd primes up to 2^16, enough for any segment below
+	 * {@link #SIEVE_LIMIT}; callers must not modify the array.
+	 */
+	static int[] basePrimes() {
+		return BASE_PRIMES;
+	}
+
+	private static int[] basePrimes(int limit) {
+		var composite = new boolean[limit + 1];
+		int count = 0;
+		for (int i = 3; i <= limit; i += 2) {
+			if (!composite[i]) {
+				count++;
+				for (long j = (long)i * i; j <= limit; j += 2L * i) {
+					composite[(int)j] = true;
+				}
+			}
+		}
+		var primes = new int[count];
+		for (int i = 3, k = 0; i <= limit; i += 2) {
+			if (!composite[i]) {
+				primes[k++] = i;
+			}
+		}
+		return primes;
+	}
+
+	/**
+	 * Walks the primes in {@code [next, to)}, sieving the segment holding
+	 * {@code next} only when the previous one is exhausted. Splits hand off
+	 * whole, {@link #SEGMENT_SPAN}-aligned segments.
+	 */
+	static final class Segments implements Spliterator.OfInt {
+		private long[]       words;                         // allocated on first sieve
+		private long         next;
+		private final long   to;
+		private long         low  = -1;                     // start of the sieved segment
+		private int          bits;
+
+		Segments(long from, long to) {
+			this.next = Math.max( from, 0 );
+			this.to   = Math.min( Math.max( to, 0 ), MAX_LIMIT );
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			int prime = nextPrime();
+			if (prime < 0) {
+				return false;
+			}
+			action.accept( prime );
+			return true;
+		}
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			for (int prime = nextPrime(); prime >= 0; prime = nextPrime()) {
+				action.accept( prime );
+			}
+		}
+		private int nextPrime() {
+			if (next <= 2) {
+				if (to > 2) {
+					next = 3;
+					return 2;
+				}
+				next = to;
+			}
+			while (next < to) {
+				if (low < 0 || next >= low + 2L * bits) {
+					low  = next & -2L;
+					bits = (int)Math.min( SEGMENT_BITS, (to - low) >>> 1 );
+					if (bits == 0) {
+						break;
+					}
+					if (words == null) {
+						words = new long[SEGMENT_WORDS];
+					}
+					sieve( low, words, bits );
+				}
+				int index = (int)((next - low) >>> 1);
+				int word  = index >>> 6;
+				int last  = (bits - 1) >>> 6;
+				long mask = words[word] & (-1L << index);
+				while (mask == 0 && word < last) {
+					mask = words[++word];
+				}
+				if (mask == 0) {
+					next = low + 2L * bits;
+					continue;
+				}
+				long prime = low + 2L * (((long)word << 6) + Long.numberOfTrailingZeros( mask )) + 1;
+				if (prime >= to) {
+					break;
+				}
+				next = prime + 2;
+				return (int)prime;
+			}
+			next = to;
+			return -1;
+		}
+		@Override
+		public Spliterator.OfInt trySplit() {
+			long mid = (next + (to - next) / 2) / SEGMENT_SPAN * SEGMENT_SPAN;
+			if (mid <= next || mid >= to) {
+				return null;
+			}
+			var prefix = new Segments( next, mid );
+			next = mid;
+			low  = -1;
+			return prefix;
+		}
+		@Override
+		public long estimateSize() {
+			long span = to - next;
+			return span <= 0 ? 0 : (long)(span / Math.max( Math.log( to ) - 1, 1 )) + 1;
+		}
+		@Override
+		public int characteristics() {
+			return ORDERED | SORTED | DISTINCT | NONNULL | IMMUTABLE;
+		}
+		@Override
+		public Comparator<? super Integer> getComparator() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,196 @@
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Process-wide prime cache shared by {@link Primes}.
+ * <p>
+ * The current {@link PrimeBitmap} is published through a volatile field, so
+ * readers never lock: they probe whatever snapshot they see. Growth is
+ * copy-on-extend under the class lock, at least doubling the covered range
+ * each time, so its cost amortizes to one sieve pass. The table stops growing
+ * at {@code primes.cache.limit} (default 2^28); streams continue past it with
+ * the uncached segmented sieve and probes with Miller-Rabin. The bitmap layout
+ * comes from {@code primes.engine} ({@code ODD} or {@code WHEEL}, default
+ * {@code ODD}) and can be switched with {@link #use(PrimeEngine)}.
+ */
+final class PrimeTable {
+	static final int INITIAL_LIMIT = 1 << 20;
+	static final int PROBE_LIMIT   = 1 << 24;               // IS_PRIME grows the table up to here
+	static final int MAX_LIMIT     = align( Integer.getInteger( "primes.cache.limit", 1 << 28 ));
+
+	private static volatile PrimeBitmap current = 
+			PrimeEngine.valueOf( System.getProperty( "primes.engine", "ODD" ).toUpperCase() ).empty().extend( Math.min( INITIAL_LIMIT, MAX_LIMIT ));
+
+	private PrimeTable() {
+	}
+
+	/**
+	 * Returns the current snapshot without growing it.
+	 */
+	static PrimeBitmap current() {
+		return current;
+	}
+
+	/**
+	 * Returns a snapshot covering at least {@code [0, limit)}, or the largest
+	 * one allowed by {@link #MAX_LIMIT}.
+	 */
+	static PrimeBitmap ensure(int limit) {
+		var table = current;
+		if (limit <= table.limit() || table.limit() >= MAX_LIMIT) {
+			return table;
+		}
+		synchronized (PrimeTable.class) {
+			table = current;
+			if (limit > table.limit() && table.limit() < MAX_LIMIT) {
+				long wanted = Math.max( limit, 2L * table.limit() );
+				table = table.extend( Math.min( MAX_LIMIT, align( wanted )));
+				current = table;
+			}
+			return table;
+		}
+	}
+
+	/**
+	 * Replaces the shared table with {@code table} if it covers more numbers.
+	 */
+	static synchronized void install(PrimeBitmap table) {
+		if (table.limit() > current.limit()) {
+			current = table;
+		}
+	}
+
+	/**
+	 * Rebuilds the shared table with {@code engine}'s layout over the same range.
+	 */
+	static synchronized void use(PrimeEngine engine) {
+		current = engine.empty().extend( Math.min( current.limit(), MAX_LIMIT ));
+	}
+
+	static boolean isPrime(int n) {
+		var table = current;
+		if (n < table.limit()) {
+			return n >= 0 && table.isPrime( n );
+		}
+		if (n < PROBE_LIMIT) {
+			table = ensure( n + 1 );
+			if (n < table.limit()) {
+				return table.isPrime( n );
+			}
+		}
+		return MillerRabin.isPrime( n );
+	}
+	static boolean isPrime(long n) {
+		if (n <= Integer.MAX_VALUE) {
+			return n >= 0 && isPrime( (int)n );
+		}
+		return MillerRabin.isPrime( n );
+	}
+
+	/**
+	 * Streams the primes in {@code [from, to)}, replaying the cached range from
+	 * memory and growing the table as the stream reaches its end.
+	 */
+	static IntStream stream(int from, int to) {
+		return StreamSupport.intStream( new Replay( from, to ), false );
+	}
+
+	private static int align(long limit) {
+		long span = PrimeSieve.SEGMENT_SPAN;
+		return (int)Math.min( (limit + span - 1) / span * span, Integer.MAX_VALUE / span * span );
+	}
+
+	/**
+	 * Walks the primes in {@code [next, to)} through the shared table, falling
+	 * back to {@link PrimeSieve.Segments} once past what the table may cover.
+	 * A walker only grows the table when it sits at its frontier; split-off
+	 * ranges further out sieve their own segments instead of serializing on
+	 * the table lock.
+	 */
+	static final class Replay implements Spliterator.OfInt {
+		private int               next;
+		private final int         to;
+		private Spliterator.OfInt beyond;                   // uncached tail, once reached
+
+		Replay(int from, int to) {
+			this.next = Math.max( from, 0 );
+			this.to   = Math.max( to, 0 );
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			int prime = nextCached();
+			if (prime >= 0) {
+				action.accept( prime );
+				return true;
+			}
+			return beyond != null && beyond.tryAdvance( action );
+		}
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			for (int prime = nextCached(); prime >= 0; prime = nextCached()) {
+				action.accept( prime );
+			}
+			if (beyond != null) {
+				beyond.forEachRemaining( action );
+			}
+		}
+		private int nextCached() {
+			while (next < to) {
+				var table = current;
+				if (next < table.limit()) {
+					int prime = table.nextPrime( next );
+					if (prime >= 0) {
+						if (prime >= to) {
+							break;
+						}
+						next = prime + 1;
+						return prime;
+					}
+					next = table.limit();
+				}
+				else if (next < MAX_LIMIT && next <= 2L * table.limit()) {
+					ensure( next + 1 );
+				}
+				else {
+					beyond = new PrimeSieve.Segments( next, to );
+					break;
+				}
+			}
+			next = to;
+			return -1;
+		}
+		@Override
+		public Spliterator.OfInt trySplit() {
+			if (beyond != null) {
+				return beyond.trySplit();
+			}
+			long mid = ((long)next + (to - next) / 2) / PrimeSieve.SEGMENT_SPAN * PrimeSieve.SEGMENT_SPAN;
+			if (mid <= next || mid >= to) {
+				return null;
+			}
+			var prefix = new Replay( next, (int)mid );
+			next = (int)mid;
+			return prefix;
+		}
+		@Override
+		public long estimateSize() {
+			if (beyond != null) {
+				return beyond.estimateSize();
+			}
+			long span = (long)to - next;
+			return span <= 0 ? 0 : (long)(span / Math.max( Math.log( to ) - 1, 1 )) + 1;
+		}
+		@Override
+		public int characteristics() {
+			return ORDERED | SORTED | DISTINCT | NONNULL | IMMUTABLE;
+		}
+		@Override
+		public Comparator<? super Integer> getComparator() {
+			return null;
+		}
+	}
+}
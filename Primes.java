@@ -1,13 +1,118 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Optional;
 import java.util.function.IntFunction;
 import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 interface Primes {
-	static final IntFunction<IntStream> RANGE        = n -> IntStream.range(2, n).filter(x->x>0);
-	static final IntFunction<IntStream> DIVISORS     = n -> RANGE.apply(n).filter(x-> n%x ==0);
-	static final IntPredicate           IS_PRIME     = n -> DIVISORS.apply(n).count()==0&&n>0;
-	//https://www.rapid7.com/blog/post/2015/10/16/exploring-lambdas-and-streams-in-java-8/
-	// got the use of '&&' from here
-	static final Supplier<IntStream>    PRIME_STREAM = () -> RANGE.apply(Integer.MAX_VALUE).filter(IS_PRIME);
+	static final IntFunction<IntStream> RANGE         = n -> IntStream.range(2, n).filter(x->x>0);
+	static final IntFunction<IntStream> DIVISORS      = Factorization::divisors;
+	static final IntPredicate           IS_PRIME      = PrimeTable::isPrime;
+	static final LongPredicate          IS_PRIME_LONG = PrimeTable::isPrime;
+	static final Supplier<IntStream>    PRIME_STREAM  = () -> PrimeTable.stream(2, Integer.MAX_VALUE);
+
+	/**
+	 * Sets bit {@code i} of {@code out} to whether {@code in[i]} is prime, for
+	 * every index of {@code in}. Small values are probed in the shared table,
+	 * large ones tested with Miller-Rabin, and big batches run in parallel.
+	 */
+	static void isPrime(int[] in, BitSet out) {
+		PrimeBatch.isPrime(in, out);
+	}
+	/**
+	 * Like {@link #isPrime(int[], BitSet)} for longs.
+	 */
+	static void isPrime(long[] in, BitSet out) {
+		PrimeBatch.isPrime(in, out);
+	}
+	/**
+	 * Returns the primes in {@code [lo, hi)} in ascending order. The stream is
+	 * sequential; call {@code parallel()} on it to sieve segments across the
+	 * common fork-join pool.
+	 */
+	static IntStream primesBetween(int lo, int hi) {
+		return PrimeTable.stream(lo, hi);
+	}
+	/**
+	 * Returns the {@code k}-th prime, 2 being the first, for {@code k} up to pi(2^32).
+	 */
+	static long nthPrime(int k) {
+		return PrimeAnalytics.nthPrime(k);
+	}
+	/**
+	 * Counts the primes in {@code [lo, hi)}, {@code hi <= 2^32}, by popcount.
+	 */
+	static long countBetween(long lo, long hi) {
+		return PrimeAnalytics.count(lo, hi);
+	}
+	/**
+	 * Counts the twin primes {@code (p, p + 2)} lying in {@code [lo, hi)}, {@code hi <= 2^32}.
+	 */
+	static long twinPrimes(long lo, long hi) {
+		return PrimeAnalytics.twinPrimes(lo, hi);
+	}
+	/**
+	 * Returns the first widest gap between consecutive primes in {@code [lo, hi)}, {@code hi <= 2^32}.
+	 */
+	static Optional<PrimeAnalytics.Gap> maxGap(long lo, long hi) {
+		return PrimeAnalytics.maxGap(lo, hi);
+	}
+	/**
+	 * Counts the primes in {@code [lo, hi)}, {@code hi <= 2^32}, per residue modulo {@code modulus}.
+	 */
+	static long[] countByResidue(long lo, long hi, int modulus) {
+		return PrimeAnalytics.countByResidue(lo, hi, modulus);
+	}
+	/**
+	 * Returns the prime factors of {@code n} in ascending order, with
+	 * multiplicity; empty for {@code n < 2}.
+	 */
+	static int[] factorize(int n) {
+		return Factorization.factorize(n);
+	}
+	/**
+	 * Like {@link #factorize(int)}, falling back to Pollard's rho beyond the
+	 * smallest-prime-factor table.
+	 */
+	static long[] factorize(long n) {
+		return Factorization.factorize(n);
+	}
+	/**
+	 * Counts the primes {@code <= n} in about O(n^(3/4) / log n) time.
+	 */
+	static long pi(long n) {
+		return PrimeCounting.pi(n, false);
+	}
+	/**
+	 * Like {@link #pi(long)}, spreading each sieving step over the common fork-join pool.
+	 */
+	static long piParallel(long n) {
+		return PrimeCounting.pi(n, true);
+	}
+	/**
+	 * Writes the primes below {@code limit} to {@code file} as a prime bitmap
+	 * that {@link #mapBitmap(Path, boolean)} can reopen after a restart.
+	 */
+	static void writeBitmap(Path file, int limit) throws IOException {
+		MappedBitmap.write(file, limit);
+	}
+	/**
+	 * Maps a file written by {@link #writeBitmap(Path, int)} and serves
+	 * {@link #IS_PRIME} and {@link #PRIME_STREAM} from it when it covers more
+	 * than the in-memory table. {@code verify} checks the stored checksum first.
+	 */
+	static void mapBitmap(Path file, boolean verify) throws IOException {
+		PrimeTable.install(MappedBitmap.open(file, verify));
+	}
+	/**
+	 * Rebuilds the shared prime table with {@code engine}'s bitmap layout, so
+	 * engines can be compared on the same workload.
+	 */
+	static void useEngine(PrimeEngine engine) {
+		PrimeTable.use(engine);
+	}
 }
\ No newline at end of file
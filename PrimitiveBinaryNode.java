@@ -0,0 +1,169 @@
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Shape shared by {@link IntBinaryNode} and {@link LongBinaryNode}: the
+ * children, an empty sentinel that is its own child, and the size, height and
+ * structural hash cached at construction as in {@link BinaryNode}. Subclasses
+ * only add the value, so the structure, {@code equals} and the walks of
+ * {@link IntTraversalStrategy} and {@link LongTraversalStrategy} live here
+ * once.
+ */
+abstract class PrimitiveBinaryNode<N extends PrimitiveBinaryNode<N>> {
+	private final N    left;
+	private final N    right;
+	private final long size;
+	private final int  height;
+	private final int  hash;
+
+	@SuppressWarnings("unchecked")
+	PrimitiveBinaryNode() {
+		this.left   = (N)this;
+		this.right  = (N)this;
+		this.size   = 0;
+		this.height = 0;
+		this.hash   = 0;
+	}
+	PrimitiveBinaryNode(int valueHash, N left, N right) {
+		this.left   = Objects.requireNonNull( left  );
+		this.right  = Objects.requireNonNull( right );
+		this.size   = 1 + left.size() + right.size();
+		this.height = 1 + Math.max( left.height(), right.height() );
+		this.hash   = 31 * (31 * valueHash + left.hashCode()) + right.hashCode();
+	}
+
+	public N left() {
+		return left;
+	}
+	public N right() {
+		return right;
+	}
+	/**
+	 * Returns the number of nodes in this subtree; 0 for the empty tree.
+	 */
+	public long size() {
+		return size;
+	}
+	/**
+	 * Returns the number of nodes on the longest path from here to a leaf; 0
+	 * for the empty tree.
+	 */
+	public int height() {
+		return height;
+	}
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns whether this node holds the same value as {@code other}; neither
+	 * is empty.
+	 */
+	abstract boolean sameValue(N other);
+
+	/**
+	 * Compares structure and values pairwise from an explicit stack, as
+	 * {@link BinaryNode#equals} does.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean equals(Object obj) {
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		var pending = new ArrayDeque<N>();
+		pending.push( (N)this );
+		pending.push( (N)obj );
+		while (!pending.isEmpty()) {
+			var other = pending.pop();
+			var node  = pending.pop();
+			if (node == other) {
+				continue;
+			}
+			if (node.isEmpty() || other.isEmpty() ||
+					node.hashCode() != other.hashCode() || node.size() != other.size() ||
+					!node.sameValue( other )) {
+				return false;
+			}
+			pending.push( node.right() );
+			pending.push( other.right() );
+			pending.push( node.left() );
+			pending.push( other.left() );
+		}
+		return true;
+	}
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * The walks behind the primitive strategies, on explicit stacks so that no
+	 * tree is too deep for them.
+	 */
+	enum Order {
+		PRE {
+			@Override
+			<N extends PrimitiveBinaryNode<N>> void walk(N tree, Consumer<? super N> visit) {
+				var stack = new ArrayDeque<N>();
+				if (!tree.isEmpty()) {
+					stack.push( tree );
+				}
+				while (!stack.isEmpty()) {
+					var node = stack.pop();
+					visit.accept( node );
+					if (!node.right().isEmpty()) {
+						stack.push( node.right() );
+					}
+					if (!node.left().isEmpty()) {
+						stack.push( node.left() );
+					}
+				}
+			}
+		},
+		IN {
+			@Override
+			<N extends PrimitiveBinaryNode<N>> void walk(N tree, Consumer<? super N> visit) {
+				var stack = new ArrayDeque<N>();
+				for (var node = tree; !node.isEmpty() || !stack.isEmpty(); ) {
+					for (; !node.isEmpty(); node = node.left()) {
+						stack.push( node );
+					}
+					node = stack.pop();
+					visit.accept( node );
+					node = node.right();
+				}
+			}
+		},
+		POST {
+			@Override
+			<N extends PrimitiveBinaryNode<N>> void walk(N tree, Consumer<? super N> visit) {
+				var stack    = new ArrayDeque<N>();
+				var expanded = new BitSet();                    // by stack depth, as in PostorderStrategy
+				if (!tree.isEmpty()) {
+					stack.push( tree );
+				}
+				while (!stack.isEmpty()) {
+					int depth = stack.size() - 1;
+					var node  = stack.peek();
+					if (expanded.get( depth )) {
+						expanded.clear( depth );
+						visit.accept( stack.pop() );
+						continue;
+					}
+					expanded.set( depth );
+					if (!node.right().isEmpty()) {
+						stack.push( node.right() );
+					}
+					if (!node.left().isEmpty()) {
+						stack.push( node.left() );
+					}
+				}
+			}
+		};
+
+		abstract <N extends PrimitiveBinaryNode<N>> void walk(N tree, Consumer<? super N> visit);
+	}
+}
@@ -0,0 +1,36 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Breadth-first traversal from the deepest level up to the root, each level
+ * from left to right.
+ * <p>
+ * That is a level-order walk that takes right children before left ones,
+ * read backwards; it needs the whole tree before the first value, so the
+ * iterator and {@link #forEach} are the defaults over {@link #getTraversal}.
+ */
+public class ReverseLevelOrderStrategy<E> implements TraversalStrategy<E> {
+
+	@Override
+	public List<E> getTraversal(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		List <E> TR = new ArrayList<>((int)Math.min(tree.size(), Integer.MAX_VALUE));
+		var queue = LevelOrderStrategy.queue(tree);
+		while (!queue.isEmpty()) {
+			var node = queue.poll();
+			TR.add(node.value());
+			if (node.right() != BinaryNode.empty()) {
+				queue.offer(node.right());
+			}
+			if (node.left() != BinaryNode.empty()) {
+				queue.offer(node.left());
+			}
+		}
+		Collections.reverse(TR);
+		return TR;
+	}
+
+}
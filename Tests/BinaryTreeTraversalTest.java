@@ -1,10 +1,28 @@
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -14,6 +32,229 @@ import org.mockito.Mockito;
 import com.google.common.truth.Truth;
 
 class BinaryTreeTraversalTest {
+	@Nested
+	class TestingBinaryNode {
+		@Test
+		void testSizeAndHeight() {
+			Truth.assertThat( BinaryNode.empty().size()   ).isEqualTo( 0L );
+			Truth.assertThat( BinaryNode.empty().height() ).isEqualTo( 0 );
+			var tree = BinaryNode.of( 1, BinaryNode.of( 2, BinaryNode.of( 3 ), BinaryNode.empty() ), BinaryNode.of( 4 ));
+			Truth.assertThat( tree.size()   ).isEqualTo( 4L );
+			Truth.assertThat( tree.height() ).isEqualTo( 3 );
+		}
+		@Test
+		void testEqualsAndHashCode() {
+			var tree   = BinaryNode.of( 1, BinaryNode.of( 2 ), BinaryNode.of( 3 ));
+			var same   = BinaryNode.of( 1, BinaryNode.of( 2 ), BinaryNode.of( 3 ));
+			var other  = BinaryNode.of( 1, BinaryNode.of( 3 ), BinaryNode.of( 2 ));
+			var taller = BinaryNode.of( 1, BinaryNode.of( 2, BinaryNode.of( 3 ), BinaryNode.empty() ), BinaryNode.empty() );
+			Truth.assertThat( tree ).isEqualTo( same );
+			Truth.assertThat( tree.hashCode() ).isEqualTo( same.hashCode() );
+			Truth.assertThat( tree ).isNotEqualTo( other );
+			Truth.assertThat( tree.hashCode() ).isNotEqualTo( other.hashCode() );
+			Truth.assertThat( tree ).isNotEqualTo( taller );
+			Truth.assertThat( BinaryNode.empty() ).isEqualTo( BinaryNode.empty() );
+			Truth.assertThat( BinaryNode.empty().hashCode() ).isEqualTo( BinaryNode.empty().hashCode() );
+		}
+		@Test
+		void testEqualsDeep() {
+			BinaryNode<Integer> tree = BinaryNode.empty();
+			BinaryNode<Integer> same = BinaryNode.empty();
+			for (int i = 0; i < 1_000_000; i++) {
+				tree = BinaryNode.of( i, tree, BinaryNode.empty() );
+				same = BinaryNode.of( i, same, BinaryNode.empty() );
+			}
+			Truth.assertThat( tree ).isEqualTo( same );
+			Truth.assertThat( tree ).isNotEqualTo( BinaryNode.of( 0, same, BinaryNode.empty() ));
+		}
+		@Test
+		void testInterned() {
+			var tree = BinaryNode.interned( 1, BinaryNode.interned( 2 ), BinaryNode.interned( 2 ));
+			Truth.assertThat( tree.left() ).isSameInstanceAs( tree.right() );
+			Truth.assertThat( BinaryNode.interned( 1, BinaryNode.of( 2 ), BinaryNode.of( 2 ))).isSameInstanceAs( tree );
+			Truth.assertThat( BinaryNode.intern( BinaryNode.of( 1, BinaryNode.of( 2 ), BinaryNode.of( 2 )))).isSameInstanceAs( tree );
+			Truth.assertThat( BinaryNode.intern( tree )).isSameInstanceAs( tree );
+			Truth.assertThat( tree ).isEqualTo( BinaryNode.of( 1, BinaryNode.of( 2 ), BinaryNode.of( 2 )));
+			Truth.assertThat( tree ).isNotEqualTo( BinaryNode.interned( 1, BinaryNode.interned( 2 ), BinaryNode.empty() ));
+			Truth.assertThat( BinaryNode.<Object>interned( 1 )).isNotSameInstanceAs( BinaryNode.<Object>interned( 1L ));
+			Truth.assertThat( BinaryNode.intern( BinaryNode.empty() )).isSameInstanceAs( BinaryNode.empty() );
+		}
+		@Test
+		void testEqualsChecksValueClass() {
+			Truth.assertThat( BinaryNode.<Object>of( 1 )).isNotEqualTo( BinaryNode.<Object>of( 1L ));
+		}
+	}
+	@Nested
+	class TestingBinaryNodeCodec {
+		private static final BinaryNode<String> tree =
+				BinaryNode.of( "root",
+						BinaryNode.of( "left", BinaryNode.of( "\u00e9t\u00e9" ), BinaryNode.empty() ), BinaryNode.of( "right" ));
+
+		@Test
+		void testRoundTrip() throws IOException {
+			var codec = new BinaryNodeCodec<>( ValueCodec.STRING );
+			var bytes = new ByteArrayOutputStream();
+			codec.write( tree, Channels.newChannel( bytes ));
+			Truth.assertThat( codec.read( Channels.newChannel( new ByteArrayInputStream( bytes.toByteArray() )))).isEqualTo( tree );
+			Truth.assertThat( codec.read( ByteBuffer.wrap( bytes.toByteArray() ))).isEqualTo( tree );
+
+			var ints = BinaryNode.of( Integer.MIN_VALUE, BinaryNode.of( -1 ), BinaryNode.of( Integer.MAX_VALUE ));
+			var intCodec = new BinaryNodeCodec<>( ValueCodec.INTEGER );
+			bytes.reset();
+			intCodec.write( ints, Channels.newChannel( bytes ));
+			Truth.assertThat( intCodec.read( ByteBuffer.wrap( bytes.toByteArray() ))).isEqualTo( ints );
+		}
+		@Test
+		void testRoundTripDeep() throws IOException {
+			BinaryNode<Long> deep = BinaryNode.empty();
+			for (long i = 0; i < 1_000_000; i++) {
+				deep = i % 2 == 0 ? BinaryNode.of( i, deep, BinaryNode.empty() ) : BinaryNode.of( -i, BinaryNode.empty(), deep );
+			}
+			var codec = new BinaryNodeCodec<>( ValueCodec.LONG );
+			var bytes = new ByteArrayOutputStream();
+			codec.write( deep, Channels.newChannel( bytes ));
+			Truth.assertThat( codec.read( ByteBuffer.wrap( bytes.toByteArray() ))).isEqualTo( deep );
+		}
+		@Test
+		void testMappedSubtrees(@TempDir Path folder) throws IOException {
+			var codec = new BinaryNodeCodec<>( ValueCodec.STRING );
+			var file  = folder.resolve( "tree.bin" );
+			try (var channel = FileChannel.open( file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE )) {
+				codec.write( tree, channel );
+			}
+			var root = codec.map( file );
+			Truth.assertThat( root.byteLength() ).isEqualTo( Files.size( file ) - BinaryNodeCodec.HEADER );
+			Truth.assertThat( root.value() ).isEqualTo( "root" );
+			Truth.assertThat( root.right().value() ).isEqualTo( "right" );
+			Truth.assertThat( root.left().left().value() ).isEqualTo( "\u00e9t\u00e9" );
+			Truth.assertThat( root.left().right().isEmpty() ).isTrue();
+			Truth.assertThat( root.left().decode() ).isEqualTo( tree.left() );
+			Truth.assertThat( root.decode() ).isEqualTo( tree );
+		}
+		@Test
+		void testInvalidDataThrowsException() {
+			var codec = new BinaryNodeCodec<>( ValueCodec.STRING );
+			assertThrows( IllegalArgumentException.class, () -> new BinaryNodeCodec<String>( null ));
+			assertThrows( IllegalArgumentException.class, () -> codec.write( null, Channels.newChannel( new ByteArrayOutputStream() )));
+			assertThrows( IOException.class, () -> codec.read( ByteBuffer.wrap( new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 })));
+			assertThrows( EOFException.class, () -> codec.read( ByteBuffer.wrap( new byte[] { 0x42, 0x4E, 0x4F, 0x44, 1, 0, 0, 0, 1 })));
+		}
+		@Test
+		void testTruncatedStreamThrowsException() throws IOException {
+			var codec = new BinaryNodeCodec<>( ValueCodec.STRING );
+			var bytes = new ByteArrayOutputStream();
+			codec.write( tree, Channels.newChannel( bytes ));
+			for (int length = 0; length < bytes.size(); length++) {
+				var truncated = Arrays.copyOf( bytes.toByteArray(), length );
+				assertThrows( IOException.class, () -> codec.read( ByteBuffer.wrap( truncated )));
+				assertThrows( IOException.class, () -> codec.read( Channels.newChannel( new ByteArrayInputStream( truncated ))));
+			}
+		}
+		@Test
+		void testBadLengthThrowsException() {
+			var codec  = new BinaryNodeCodec<>( ValueCodec.STRING );
+			var header = new byte[] { 0x42, 0x4E, 0x4F, 0x44, 1, 0, 0, 0 };
+			var cases  = new byte[][] {
+					{ 1, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x0F, 0, 0, 0 },                   // length past Integer.MAX_VALUE
+					{ 1, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x01, 0, 0, 0 }, // negative length
+					{ 1, 100, 0, 0, 0 },                                                                   // length past the input
+					{ 1, 3, 5, 0, 0 },                                                                     // value larger than its subtree
+					{ 1, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x0F, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x07, 0, 0 } // value of 16 MiB in an 11-byte stream
+			};
+			for (var body : cases) {
+				var bytes = Arrays.copyOf( header, header.length + body.length );
+				System.arraycopy( body, 0, bytes, header.length, body.length );
+				var buffer = assertThrows( IOException.class, () -> codec.read( ByteBuffer.wrap( bytes )));
+				Truth.assertThat( buffer ).hasMessageThat().startsWith( "corrupt tree" );
+				assertThrows( IOException.class, () -> codec.read( Channels.newChannel( new ByteArrayInputStream( bytes ))));
+			}
+		}
+	}
+	@Nested
+	class TestingPersistentSortedMap {
+		@Test
+		void testPutGetRemove() {
+			var empty = PersistentSortedMap.<Integer, String>empty();
+			var map   = empty;
+			for (int i = 0; i < 1000; i++) {
+				map = map.put( i * 2, "v" + i );
+			}
+			Truth.assertThat( map.size() ).isEqualTo( 1000L );
+			Truth.assertThat( map.tree().height() ).isAtMost( 15 );
+			Truth.assertThat( map.get( 10 )).isEqualTo( "v5" );
+			Truth.assertThat( map.get( 11 )).isNull();
+			Truth.assertThat( map.floor  ( 11 ).getKey() ).isEqualTo( 10 );
+			Truth.assertThat( map.ceiling( 11 ).getKey() ).isEqualTo( 12 );
+			Truth.assertThat( map.floor  ( -1 )).isNull();
+			Truth.assertThat( map.ceiling( 1999 )).isNull();
+
+			var removed = map.remove( 10 ).put( 12, "twelve" );
+			Truth.assertThat( removed.get( 10 )).isNull();
+			Truth.assertThat( removed.get( 12 )).isEqualTo( "twelve" );
+			Truth.assertThat( map.get( 10 )).isEqualTo( "v5" );
+			Truth.assertThat( map.get( 12 )).isEqualTo( "v6" );
+			Truth.assertThat( empty.isEmpty() ).isTrue();
+			Truth.assertThat( map.remove( 11 )).isSameInstanceAs( map );
+		}
+		@Test
+		void testRangeAndOrder() {
+			var map = PersistentSortedMap.<String, Integer>empty();
+			for (var key : List.of( "m", "c", "x", "a", "e", "q", "z" )) {
+				map = map.put( key, key.charAt( 0 ) - 'a' );
+			}
+			Truth.assertThat( map.range( "b", "q" ).map( Map.Entry::getKey ).toList() ).containsExactly( "c", "e", "m" ).inOrder();
+			Truth.assertThat( new InorderStrategy<Map.Entry<String, Integer>>().getTraversal( map.tree() ).stream().map( Map.Entry::getKey ).toList() )
+					.containsExactly( "a", "c", "e", "m", "q", "x", "z" ).inOrder();
+		}
+		@Test
+		void testInvalidDataThrowsException() {
+			var map = PersistentSortedMap.<Integer, String>empty();
+			assertThrows( IllegalArgumentException.class, () -> map.put( null, "a" ));
+			assertThrows( IllegalArgumentException.class, () -> map.put( 1, null ));
+			assertThrows( IllegalArgumentException.class, () -> map.get( null ));
+			assertThrows( IllegalArgumentException.class, () -> PersistentSortedMap.<Integer, String>empty( null ));
+		}
+	}
+	@Nested
+	class TestingBinaryTreeBuilder {
+		@Test
+		void testBalancedKeepsOrder() {
+			var sorted = IntStream.range( 0, 1000 ).boxed().toList();
+			var tree   = BinaryTreeBuilder.<Integer>balanced( sorted );
+			Truth.assertThat( new InorderStrategy<Integer>().getTraversal( tree )).isEqualTo( sorted );
+			Truth.assertThat( tree.height() ).isEqualTo( 10 );
+			Truth.assertThat( BinaryTreeBuilder.<Integer>balanced( sorted.spliterator() )).isEqualTo( tree );
+			Truth.assertThat( BinaryTreeBuilder.<Integer>balanced( sorted.stream().filter( i -> true ).spliterator() )).isEqualTo( tree );
+			Truth.assertThat( BinaryTreeBuilder.<Integer>balancedParallel( sorted, 16 )).isEqualTo( tree );
+			Truth.assertThat( BinaryTreeBuilder.<Integer>balanced( List.of() )).isSameInstanceAs( BinaryNode.empty() );
+		}
+		@Test
+		void testFromTraversals() {
+			var tree     = BinaryNode.of( "a", BinaryNode.of( "b", BinaryNode.of( "d" ), BinaryNode.empty() ), BinaryNode.of( "c", BinaryNode.of( "e" ), BinaryNode.of( "f" )));
+			var preorder = new PreorderStrategy<String>().getTraversal( tree );
+			var inorder  = new InorderStrategy <String>().getTraversal( tree );
+			Truth.assertThat( BinaryTreeBuilder.<String>fromTraversals( preorder, inorder )).isEqualTo( tree );
+		}
+		@Test
+		void testFromTraversalsOfDeepTree() {
+			BinaryNode<Integer> tree = BinaryNode.empty();
+			for (int i = 0; i < 100_000; i++) {
+				tree = BinaryNode.of( i, tree, BinaryNode.empty() );
+			}
+			var preorder = new PreorderStrategy<Integer>().getTraversal( tree );
+			var inorder  = new InorderStrategy <Integer>().getTraversal( tree );
+			Truth.assertThat( BinaryTreeBuilder.<Integer>fromTraversals( preorder, inorder )).isEqualTo( tree );
+		}
+		@Test
+		void testInvalidDataThrowsException() {
+			assertThrows( IllegalArgumentException.class, () -> BinaryTreeBuilder.balanced( (List<String>)null ));
+			assertThrows( IllegalArgumentException.class, () -> BinaryTreeBuilder.balancedParallel( List.of( "a" ), 0 ));
+			assertThrows( IllegalArgumentException.class, () -> BinaryTreeBuilder.fromTraversals( List.of( "a", "b" ), List.of( "a" )));
+			assertThrows( IllegalArgumentException.class, () -> BinaryTreeBuilder.fromTraversals( List.of( "a", "a" ), List.of( "a", "a" )));
+			assertThrows( IllegalArgumentException.class, () -> BinaryTreeBuilder.fromTraversals( List.of( "a", "b" ), List.of( "a", "c" )));
+			assertThrows( IllegalArgumentException.class, () -> BinaryTreeBuilder.fromTraversals( List.of( "a", "b", "c" ), List.of( "c", "a", "b" )));
+		}
+	}
 	@Nested
 	class TestingBinaryTreeTraversal {
 		@SuppressWarnings("unchecked")
@@ -23,6 +264,16 @@ class BinaryTreeTraversalTest {
 			assertThrows( IllegalArgumentException.class, () -> new BinaryTreeTraversal<Object>( null ));
 			assertThrows( IllegalArgumentException.class, () -> new BinaryTreeTraversal<Object>( strategy ).setStrategy( null ));
 			assertThrows( IllegalArgumentException.class, () -> new BinaryTreeTraversal<Object>( strategy ).getTraversal( null ));
+			assertThrows( IllegalArgumentException.class, () -> new BinaryTreeTraversal<Object>( strategy ).iterator( null ));
+			assertThrows( IllegalArgumentException.class, () -> new BinaryTreeTraversal<Object>( strategy ).stream( null ));
+			assertThrows( IllegalArgumentException.class, () -> new BinaryTreeTraversal<Object>( strategy ).forEach( null, x -> {} ));
+			assertThrows( IllegalArgumentException.class, () -> new BinaryTreeTraversal<Object>( strategy ).forEach( BinaryNode.of( "hello" ), null ));
+			assertThrows( IllegalArgumentException.class, () -> new BinaryTreeTraversal<Object>( strategy ).collect( null, Collectors.toList() ));
+			assertThrows( IllegalArgumentException.class, () -> new BinaryTreeTraversal<Object>( strategy ).collect( BinaryNode.of( "hello" ), null ));
+			assertThrows( IllegalArgumentException.class, () -> new ParallelTraversalStrategy<Object>( null ));
+			assertThrows( IllegalArgumentException.class, () -> new ParallelTraversalStrategy<Object>( strategy ));
+			assertThrows( IllegalArgumentException.class, () -> new ParallelTraversalStrategy<Object>( new InorderStrategy<>(), 0 ));
+			assertThrows( IllegalArgumentException.class, () -> new ParallelTraversalStrategy<Object>( new InorderStrategy<>() {} ));
 		}
 		@SuppressWarnings("unchecked")
 		@Test
@@ -53,6 +304,72 @@ class BinaryTreeTraversalTest {
 
 			Mockito.verify( strategy ).getTraversal( ArgumentMatchers.any() );
 		}
+		@SuppressWarnings("unchecked")
+		@Test
+		void testCachedTraversalCallsStrategyOnce() {
+			var strategy  = Mockito.mock( TraversalStrategy.class );
+			var tree      = BinaryNode.<Object>of( "hello" );
+			Mockito.doReturn( List.of( 42 )).when( strategy ).getTraversal( tree );
+			var cache     = new TraversalCache( 16 );
+			var traversal = new BinaryTreeTraversal<Object>( strategy, cache );
+
+			var first = traversal.getTraversal( tree );
+			Truth.assertThat( traversal.getTraversal( tree )).isSameInstanceAs( first );
+			Truth.assertThat( traversal.getTraversal( BinaryNode.of( "hello" ))).containsExactly( 42 );
+			Truth.assertThat( cache.hits()   ).isEqualTo( 1L );
+			Truth.assertThat( cache.misses() ).isEqualTo( 2L );
+			Mockito.verify( strategy, Mockito.times( 2 )).getTraversal( ArgumentMatchers.any() );
+
+			traversal.setCache( null );
+			traversal.getTraversal( tree );
+			Mockito.verify( strategy, Mockito.times( 3 )).getTraversal( ArgumentMatchers.any() );
+		}
+	}
+	@Nested
+	class TestingTraversalCache {
+		@Test
+		void testCacheKeysOnRootAndOrder() {
+			var cache = new TraversalCache( 16 );
+			var tree  = BinaryTreeBuilder.<Integer>balanced( List.of( 1, 2, 3 ));
+
+			var preorder = cache.getTraversal( new PreorderStrategy<Integer>(), tree );
+			Truth.assertThat( preorder ).containsExactly( 2, 1, 3 ).inOrder();
+			Truth.assertThat( cache.getTraversal( new PreorderStrategy<Integer>(), tree )).isSameInstanceAs( preorder );
+			Truth.assertThat( cache.getTraversal( new ParallelTraversalStrategy<>( new PreorderStrategy<Integer>() ), tree )).isSameInstanceAs( preorder );
+			Truth.assertThat( cache.getTraversal( new ParallelTraversalStrategy<>( new InorderStrategy<Integer>() ), tree )).containsExactly( 1, 2, 3 ).inOrder();
+			Truth.assertThat( cache.getTraversal( new PreorderStrategy<Integer>(), BinaryTreeBuilder.<Integer>balanced( List.of( 1, 2, 3 )))).isNotSameInstanceAs( preorder );
+			Truth.assertThat( cache.hits()   ).isEqualTo( 2L );
+			Truth.assertThat( cache.misses() ).isEqualTo( 3L );
+			assertThrows( UnsupportedOperationException.class, () -> preorder.add( 4 ));
+		}
+		@Test
+		void testCacheEvictsLeastRecentlyUsed() {
+			var cache    = new TraversalCache( 2 );
+			var strategy = new InorderStrategy<Integer>();
+			var first    = BinaryNode.of( 1 );
+			var second   = BinaryNode.of( 2 );
+			var third    = BinaryNode.of( 3 );
+
+			cache.getTraversal( strategy, first  );
+			cache.getTraversal( strategy, second );
+			cache.getTraversal( strategy, first  );
+			cache.getTraversal( strategy, third  );
+			Truth.assertThat( cache.size() ).isEqualTo( 2 );
+			cache.getTraversal( strategy, first  );
+			cache.getTraversal( strategy, second );
+			Truth.assertThat( cache.hits()   ).isEqualTo( 2L );
+			Truth.assertThat( cache.misses() ).isEqualTo( 4L );
+
+			cache.clear();
+			Truth.assertThat( cache.size() ).isEqualTo( 0 );
+		}
+		@Test
+		void testInvalidDataThrowsException() {
+			var cache = new TraversalCache( 1 );
+			assertThrows( IllegalArgumentException.class, () -> new TraversalCache( 0 ));
+			assertThrows( IllegalArgumentException.class, () -> cache.getTraversal( null, BinaryNode.of( 1 )));
+			assertThrows( IllegalArgumentException.class, () -> cache.getTraversal( new InorderStrategy<Integer>(), null ));
+		}
 	}
 	@Nested
 	class TestingTraversals {
@@ -167,5 +484,200 @@ class BinaryTreeTraversalTest {
 					Arguments.of( seven, post,  List.of(  -2L, -3L, -5L, -6L, -7L, -4L, -1L, 0L ))
 					);
 		}
+		@ParameterizedTest
+		@MethodSource("dataGetTraversalBreadthFirst")
+		<T> void testGetTraversalBreadthFirst(BinaryNode<T> data, TraversalStrategy<T> strategy, List<T> expected) {
+			var message   = "%s".formatted( strategy.getClass().getSimpleName() );
+			var traversal = new BinaryTreeTraversal<T>( strategy );
+			Truth.assertWithMessage( message ).that( traversal.getTraversal( data )).containsExactlyElementsIn( expected ).inOrder();
+			Truth.assertWithMessage( message ).that( traversal.stream( data ).toList() ).containsExactlyElementsIn( expected ).inOrder();
+		}
+		static Stream<Arguments> dataGetTraversalBreadthFirst() {
+			var level   = new LevelOrderStrategy<>();
+			var reverse = new ReverseLevelOrderStrategy<>();
+			var zigzag  = new ZigzagStrategy<>();
+			return Stream.of(
+					Arguments.of( one,   level,   List.of( 42.0 )),
+					Arguments.of( two,   level,   List.of( 7L, 5L, 9L )),
+					Arguments.of( three, level,   List.of( "a", "b", "c" )),
+					Arguments.of( five,  level,   List.of( 42, 21, 63, 11, 32, 52, 74, 26, 58 )),
+					Arguments.of( six,   level,   List.of( 0, 14, 8, 2, 10, 4, 12, 6 )),
+					Arguments.of( one,   reverse, List.of( 42.0 )),
+					Arguments.of( two,   reverse, List.of( 5L, 9L, 7L )),
+					Arguments.of( three, reverse, List.of( "c", "b", "a" )),
+					Arguments.of( five,  reverse, List.of( 26, 58, 11, 32, 52, 74, 21, 63, 42 )),
+					Arguments.of( six,   reverse, List.of( 6, 4, 12, 2, 10, 8, 14, 0 )),
+					Arguments.of( one,   zigzag,  List.of( 42.0 )),
+					Arguments.of( two,   zigzag,  List.of( 7L, 9L, 5L )),
+					Arguments.of( three, zigzag,  List.of( "a", "b", "c" )),
+					Arguments.of( five,  zigzag,  List.of( 42, 63, 21, 11, 32, 52, 74, 58, 26 )),
+					Arguments.of( six,   zigzag,  List.of( 0, 14, 8, 10, 2, 4, 12, 6 ))
+					);
+		}
+		@ParameterizedTest
+		@MethodSource({ "dataGetTraversal", "dataGetTraversalBreadthFirst" })
+		<T> void testFlatBinaryTree(BinaryNode<T> data, TraversalStrategy<T> strategy, List<T> expected) {
+			var message = "%s".formatted( strategy.getClass().getSimpleName() );
+			var flat    = FlatBinaryTree.of( data );
+			Truth.assertWithMessage( message ).that( (long)flat.size() ).isEqualTo( data.size() );
+			Truth.assertWithMessage( message ).that( flat.toBinaryNode() ).isEqualTo( data );
+			Truth.assertWithMessage( message ).that( flat.getTraversal( strategy )).containsExactlyElementsIn( strategy.getTraversal( data )).inOrder();
+		}
+		@Test
+		void testFlatBinaryTreeLayout() {
+			var flat = FlatBinaryTree.of( two );
+			Truth.assertThat( flat.value( 0 )).isEqualTo( 7L );
+			Truth.assertThat( flat.left ( 0 )).isEqualTo( 1 );
+			Truth.assertThat( flat.right( 0 )).isEqualTo( 2 );
+			Truth.assertThat( flat.left ( 2 )).isEqualTo( FlatBinaryTree.NONE );
+			Truth.assertThat( FlatBinaryTree.of( BinaryNode.empty() ).toBinaryNode() ).isSameInstanceAs( BinaryNode.empty() );
+			assertThrows( IllegalArgumentException.class, () -> FlatBinaryTree.of( null ));
+			assertThrows( IllegalArgumentException.class, () -> flat.getTraversal( null ));
+		}
+		@Test
+		void testFlatBinaryTreeSubclassedStrategy() {
+			// a subclass of a known strategy may list another order, so it must not get the array walk
+			var reversed = new PreorderStrategy<Integer>() {
+				@Override
+				public void forEach(BinaryNode<Integer> tree, Consumer<? super Integer> action) {
+					var list = new ArrayList<Integer>();
+					super.forEach( tree, list::add );
+					Collections.reverse( list );
+					list.forEach( action );
+				}
+			};
+			var tree = BinaryTreeBuilder.<Integer>balanced( List.of( 1, 2, 3, 4, 5 ));
+			Truth.assertThat( FlatBinaryTree.of( tree ).getTraversal( reversed )).containsExactlyElementsIn( reversed.getTraversal( tree )).inOrder();
+			Truth.assertThat( FlatBinaryTree.of( tree ).getTraversal( reversed )).containsExactly( 4, 5, 1, 2, 3 ).inOrder();
+		}
+		@ParameterizedTest
+		@MethodSource("dataGetTraversalPrimitive")
+		void testGetTraversalPrimitive(IntTraversalStrategy intStrategy, LongTraversalStrategy longStrategy, int[] expected) {
+			var ints    = IntBinaryNode.of( 7, IntBinaryNode.of( 5, IntBinaryNode.empty(), IntBinaryNode.of( 6 )), IntBinaryNode.of( 9 ));
+			var longs   = LongBinaryNode.of( 7, LongBinaryNode.of( 5, LongBinaryNode.empty(), LongBinaryNode.of( 6 )), LongBinaryNode.of( 9 ));
+			Truth.assertThat( intStrategy.getTraversal( ints )).isEqualTo( expected );
+			var buffer = new long[expected.length + 1];
+			Truth.assertThat( longStrategy.getTraversal( longs, buffer, 1 )).isEqualTo( expected.length );
+			Truth.assertThat( Arrays.copyOfRange( buffer, 1, buffer.length )).isEqualTo( Arrays.stream( expected ).asLongStream().toArray() );
+			Truth.assertThat( intStrategy.getTraversal( IntBinaryNode.empty() )).isEmpty();
+			assertThrows( IllegalArgumentException.class, () -> intStrategy.getTraversal( ints, new int[expected.length], 1 ));
+			assertThrows( IllegalArgumentException.class, () -> intStrategy.getTraversal( null ));
+			assertThrows( IllegalArgumentException.class, () -> longStrategy.forEach( longs, null ));
+		}
+		static Stream<Arguments> dataGetTraversalPrimitive() {
+			/*              7 
+			             5     9
+			              6
+			 */
+			return Stream.of(
+					Arguments.of( IntTraversalStrategy.INORDER,   LongTraversalStrategy.INORDER,   new int[] { 5, 6, 7, 9 }),
+					Arguments.of( IntTraversalStrategy.PREORDER,  LongTraversalStrategy.PREORDER,  new int[] { 7, 5, 6, 9 }),
+					Arguments.of( IntTraversalStrategy.POSTORDER, LongTraversalStrategy.POSTORDER, new int[] { 6, 5, 9, 7 })
+					);
+		}
+		@Test
+		void testPrimitiveNodes() {
+			var tree = IntBinaryNode.of( 7, IntBinaryNode.of( 5 ), IntBinaryNode.empty() );
+			Truth.assertThat( tree ).isEqualTo( IntBinaryNode.of( 7, IntBinaryNode.of( 5 ), IntBinaryNode.empty() ));
+			Truth.assertThat( tree ).isNotEqualTo( IntBinaryNode.of( 7, IntBinaryNode.empty(), IntBinaryNode.of( 5 )));
+			Truth.assertThat( tree.hashCode() ).isEqualTo( IntBinaryNode.of( 7, IntBinaryNode.of( 5 ), IntBinaryNode.empty() ).hashCode() );
+			Truth.assertThat( tree.size() ).isEqualTo( 2L );
+			Truth.assertThat( tree.height() ).isEqualTo( 2 );
+			Truth.assertThat( LongBinaryNode.of( 7 )).isNotEqualTo( IntBinaryNode.of( 7 ));
+			assertThrows( UnsupportedOperationException.class, () -> LongBinaryNode.empty().value() );
+		}
+		@Test
+		void testGetLevels() {
+			var strategy = new LevelOrderStrategy<Integer>();
+			Truth.assertThat( strategy.getLevels( five )).containsExactly(
+					List.of( 42 ), List.of( 21, 63 ), List.of( 11, 32, 52, 74 ), List.of( 26, 58 )).inOrder();
+			Truth.assertThat( strategy.getLevels( BinaryNode.empty() )).isEmpty();
+			var sizes = new ArrayList<Integer>();
+			strategy.forEachLevel( six, level -> sizes.add( level.size() ));
+			Truth.assertThat( sizes ).containsExactly( 1, 1, 1, 2, 2, 1 ).inOrder();
+			assertThrows( IllegalArgumentException.class, () -> strategy.getLevels( null ));
+			assertThrows( IllegalArgumentException.class, () -> strategy.forEachLevel( five, null ));
+		}
+		@ParameterizedTest
+		@MethodSource("dataGetTraversal")
+		<T> void testForEachAndCollect(BinaryNode<T> data, TraversalStrategy<T> strategy, List<T> expected) {
+			var message   = "%s".formatted( strategy.getClass().getSimpleName() );
+			var traversal = new BinaryTreeTraversal<T>( strategy );
+			var visited   = new ArrayList<T>();
+			traversal.forEach( data, visited::add );
+			Truth.assertWithMessage( message ).that( visited ).containsExactlyElementsIn( traversal.getTraversal( data )).inOrder();
+			Truth.assertWithMessage( message ).that( traversal.collect( data, Collectors.toList() )).containsExactlyElementsIn( visited ).inOrder();
+			Truth.assertWithMessage( message ).that( traversal.collect( data, Collectors.counting() )).isEqualTo( (long)expected.size() );
+		}
+		@ParameterizedTest
+		@MethodSource("dataGetTraversal")
+		<T> void testGetTraversalParallel(BinaryNode<T> data, TraversalStrategy<T> strategy, List<T> expected) {
+			var message  = "%s".formatted( strategy.getClass().getSimpleName() );
+			var parallel = new ParallelTraversalStrategy<T>( strategy, 1 );
+			Truth.assertWithMessage( message ).that( parallel.getTraversal( data )).containsExactlyElementsIn( strategy.getTraversal( data )).inOrder();
+
+			var list = parallel.getTraversal( data );
+			list.add( list.get( 0 ));
+			Truth.assertWithMessage( message ).that( list ).hasSize( expected.size() + 1 );
+		}
+		@ParameterizedTest
+		@MethodSource("dataGetTraversalDeep")
+		void testGetTraversalParallelLarge(TraversalStrategy<Integer> strategy) {
+			var tree     = balanced( 0, 1 << 18 );
+			var parallel = new ParallelTraversalStrategy<Integer>( strategy, 64 );
+			Truth.assertThat( parallel.getTraversal( tree )).containsExactlyElementsIn( strategy.getTraversal( tree )).inOrder();
+		}
+		@ParameterizedTest
+		@MethodSource("dataGetTraversalDeep")
+		void testGetTraversalParallelSkewed(TraversalStrategy<Integer> strategy) {
+			// one task per node would nest deeper than the fork-join worker stack
+			BinaryNode<Integer> deep = BinaryNode.empty();
+			for (int i = 0; i < 100_000; i++) {
+				deep = BinaryNode.of( i, deep, BinaryNode.empty() );
+			}
+			var parallel = new ParallelTraversalStrategy<Integer>( strategy, 64 );
+			Truth.assertThat( parallel.getTraversal( deep )).containsExactlyElementsIn( strategy.getTraversal( deep )).inOrder();
+		}
+		private static BinaryNode<Integer> balanced(int lo, int hi) {
+			if (lo >= hi) {
+				return BinaryNode.empty();
+			}
+			int mid = (lo + hi) >>> 1;
+			return BinaryNode.of( mid, balanced( lo, mid ), balanced( mid + 1, hi ));
+		}
+		@ParameterizedTest
+		@MethodSource("dataGetTraversal")
+		<T> void testStream(BinaryNode<T> data, TraversalStrategy<T> strategy, List<T> expected) {
+			var message   = "%s".formatted( strategy.getClass().getSimpleName() );
+			var traversal = new BinaryTreeTraversal<T>( strategy );
+			Truth.assertWithMessage( message ).that( traversal.stream( data ).toList() ).containsExactlyElementsIn( traversal.getTraversal( data )).inOrder();
+			Truth.assertWithMessage( message ).that( traversal.stream( data ).toList() ).containsExactlyElementsIn( expected );
+			Truth.assertWithMessage( message ).that( traversal.stream( data ).findFirst().orElseThrow() ).isEqualTo( traversal.getTraversal( data ).get( 0 ));
+		}
+		@ParameterizedTest
+		@MethodSource("dataGetTraversalDeep")
+		void testStreamDeepShortCircuits(TraversalStrategy<Integer> strategy) {
+			BinaryNode<Integer> deep = BinaryNode.empty();
+			for (int i = 0; i < 1_000_000; i++) {
+				deep = BinaryNode.of( i, deep, BinaryNode.empty() );
+			}
+			var expected = strategy.getTraversal( deep ).subList( 0, 10 );
+			Truth.assertThat( strategy.stream( deep ).limit( 10 ).toList() ).containsExactlyElementsIn( expected ).inOrder();
+		}
+		@ParameterizedTest
+		@MethodSource("dataGetTraversalDeep")
+		void testGetTraversalDeep(TraversalStrategy<Integer> strategy) {
+			// a zig-zag path deep enough to overflow the call stack of a recursive traversal
+			BinaryNode<Integer> deep = BinaryNode.empty();
+			for (int i = 0; i < 1_000_000; i++) {
+				deep = i % 2 == 0 ? BinaryNode.of( i, deep, BinaryNode.empty() ) : BinaryNode.of( i, BinaryNode.empty(), deep );
+			}
+			var actual = new BinaryTreeTraversal<Integer>( strategy ).getTraversal( deep );
+			Truth.assertThat( actual ).hasSize( 1_000_000 );
+			Truth.assertThat( actual ).containsNoDuplicates();
+		}
+		static Stream<TraversalStrategy<Integer>> dataGetTraversalDeep() {
+			return Stream.of( new InorderStrategy<>(), new PreorderStrategy<>(), new PostorderStrategy<>() );
+		}
 	}
 }
\ No newline at end of file
@@ -1,7 +1,14 @@
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
 import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Dictionary;
 import java.util.List;
@@ -10,12 +17,14 @@ import java.util.OptionalInt;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -161,6 +170,47 @@ public class PrimesTest {
 	    				true ),
 	    		Arguments.of( 
 	    				121,
+	    				false ),
+	    		Arguments.of( 
+	    				1,
+	    				false ),
+	    		Arguments.of( 
+	    				46_337 * 46_327,
+	    				false ),
+	    		Arguments.of( 
+	    				Integer.MAX_VALUE,
+	    				true )
+	    		);
+	}
+	@ParameterizedTest
+	@MethodSource("dataIsPrimeLong")
+	void testIsPrimeLong(long input, boolean expected) {
+		LongPredicate function = Primes.IS_PRIME_LONG;
+		assertThat  ( function ).isNotNull();
+
+		var         actual = function.test( input );
+		assertThat( actual ).isEqualTo( expected );
+	}
+	static Stream<Arguments> dataIsPrimeLong() {
+	    return 
+	    Stream.of(
+	    		Arguments.of( 
+	    				-7L, 
+	    				false ),
+	    		Arguments.of( 
+	    				83L, 
+	    				true ),
+	    		Arguments.of( 
+	    				4_759_123_141L, 
+	    				false ),
+	    		Arguments.of( 
+	    				3_825_123_056_546_413_051L, 
+	    				false ),
+	    		Arguments.of( 
+	    				9_223_372_036_854_775_783L, 
+	    				true ),
+	    		Arguments.of( 
+	    				Long.MAX_VALUE,
 	    				false )
 	    		);
 	}
@@ -193,7 +243,283 @@ public class PrimesTest {
 	    				OptionalInt.of( 73 ) ),
 	    		Arguments.of( 
 	    				100, 
-	    				OptionalInt.of( 547 ) )
+	    				OptionalInt.of( 547 ) ),
+	    		Arguments.of( 
+	    				999_999, 
+	    				OptionalInt.of( 15_485_863 ) )
+	    		);
+	}
+	@ParameterizedTest
+	@MethodSource("dataPrimesBetween")
+	void testPrimesBetween(int lo, int hi, List<Integer> expected) {
+		var         actual = Primes.primesBetween( lo, hi ).boxed().collect( Collectors.toList() );
+		assertThat( actual ).containsExactlyElementsIn( expected ).inOrder();
+	}
+	static Stream<Arguments> dataPrimesBetween() {
+	    return 
+	    Stream.of(
+	    		Arguments.of( 
+	    				-10, 2, 
+	    				List.of() ),
+	    		Arguments.of( 
+	    				0, 20, 
+	    				List.of( 2,3,5,7,11,13,17,19 ) ),
+	    		Arguments.of( 
+	    				90, 110, 
+	    				List.of( 97,101,103,107,109 ) ),
+	    		Arguments.of( 
+	    				Integer.MAX_VALUE - 100, Integer.MAX_VALUE, 
+	    				List.of( 2147483549,2147483563,2147483579,2147483587,2147483629 ) )
+	    		);
+	}
+	@Test
+	void testPrimesBetweenParallel() {
+		int lo = 1_000_000, hi = 40_000_000;
+		var sequential = Primes.primesBetween( lo, hi ).toArray();
+		var parallel   = Primes.primesBetween( lo, hi ).parallel().toArray();
+		assertThat( parallel ).isEqualTo( sequential );
+		assertThat( sequential.length ).isEqualTo( 2_433_654 - 78_498 );
+	}
+	@ParameterizedTest
+	@MethodSource("dataPi")
+	void testPi(long input, long expected) {
+		assertThat( Primes.pi        ( input )).isEqualTo( expected );
+		assertThat( Primes.piParallel( input )).isEqualTo( expected );
+	}
+	static Stream<Arguments> dataPi() {
+	    return 
+	    Stream.of(
+	    		Arguments.of( 
+	    				-5L, 
+	    				0L ),
+	    		Arguments.of( 
+	    				2L, 
+	    				1L ),
+	    		Arguments.of( 
+	    				100L, 
+	    				25L ),
+	    		Arguments.of( 
+	    				1_000_000L, 
+	    				78_498L ),
+	    		Arguments.of( 
+	    				Integer.MAX_VALUE, 
+	    				105_097_565L ),
+	    		Arguments.of( 
+	    				10_000_000_000L, 
+	    				455_052_511L ),
+	    		Arguments.of( 
+	    				100_000_000_000L, 
+	    				4_118_054_813L )
+	    		);
+	}
+	@Test
+	void testPiMatchesPrimeStream() {
+		int n = 5_000_000;
+		assertThat( Primes.pi( n )).isEqualTo( Primes.PRIME_STREAM.get().takeWhile( p -> p <= n ).count() );
+	}
+	@Test
+	void testIsqrtNearLongMax() {
+		long root = 3_037_000_499L;                             // floor(sqrt(Long.MAX_VALUE))
+		for (long n : new long[] { 0, 1, 15, 16, root * root - 1, root * root, Long.MAX_VALUE }) {
+			long r = PrimeCounting.isqrt( n );
+			assertWithMessage( "isqrt(%s)", n ).that( BigInteger.valueOf( r ).pow( 2 )).isAtMost( BigInteger.valueOf( n ));
+			assertWithMessage( "isqrt(%s)", n ).that( BigInteger.valueOf( r + 1 ).pow( 2 )).isGreaterThan( BigInteger.valueOf( n ));
+		}
+	}
+	@Test
+	void testSharedTableConcurrentReaders() throws Exception {
+		int limit    = 3_000_000;
+		var expected = Primes.primesBetween( 0, limit ).toArray();
+		var pool     = java.util.concurrent.Executors.newFixedThreadPool( 8 );
+		try {
+			var tasks = IntStream.range( 0, 16 )
+			                     .mapToObj( t -> (java.util.concurrent.Callable<int[]>) () -> 
+			                     		IntStream.range( 0, limit ).filter( Primes.IS_PRIME ).toArray() )
+			                     .collect( Collectors.toList() );
+			for (var future : pool.invokeAll( tasks )) {
+				assertThat( future.get() ).isEqualTo( expected );
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	@Test
+	void testBitmapFileRoundTrip(@TempDir Path dir) throws IOException {
+		var file  = dir.resolve( "primes.bin" );
+		int limit = PrimeTable.current().limit() + 1_000_000;  // install only takes a larger table
+		Primes.writeBitmap( file, limit );
+
+		Primes.mapBitmap( file, true );
+		var installed = PrimeTable.current();
+		assertThat( installed ).isInstanceOf( MappedBitmap.class );
+		assertThat( installed.limit() ).isEqualTo( (limit + 127) & -128 );
+
+		// checked against the uncached sieve, as the shared stream would grow the table past the file
+		int low    = installed.limit() - 2_000_000;
+		var actual = IntStream.range( low, installed.limit() ).filter( installed::isPrime ).toArray();
+		assertThat( actual ).isEqualTo( PrimeSieve.stream( low, installed.limit() ).toArray() );
+		int last = installed.limit() - 1;
+		while (!MillerRabin.isPrime( last )) {
+			last--;
+		}
+		assertThat( installed.nextPrime( last )).isEqualTo( last );
+		assertThat( Primes.IS_PRIME.test( last )).isTrue();
+		assertThat( Primes.IS_PRIME.test( last - 2 )).isEqualTo( MillerRabin.isPrime( last - 2 ));
+	}
+	@Test
+	void testBitmapFileRejectsChecksumMismatch(@TempDir Path dir) throws IOException {
+		var file = dir.resolve( "primes.bin" );
+		Primes.writeBitmap( file, PrimeTable.current().limit() + 1_000_000 );
+		var bytes = Files.readAllBytes( file );
+		bytes[16] ^= 1;                                         // first byte of the stored CRC
+		Files.write( file, bytes );
+
+		var before = PrimeTable.current();
+		assertThrows( IOException.class, () -> Primes.mapBitmap( file, true ));
+		assertThat( PrimeTable.current() ).isSameInstanceAs( before );
+	}
+	@Test
+	void testBitmapFileRejectsCorruption(@TempDir Path dir) throws IOException {
+		var file = dir.resolve( "primes.bin" );
+		Primes.writeBitmap( file, 10_000 );
+		var bytes = Files.readAllBytes( file );
+		bytes[bytes.length - 1] ^= 1;
+		Files.write( file, bytes );
+
+		assertThrows( IOException.class, () -> Primes.mapBitmap( file, true ));
+		Files.write( file, new byte[] { 1, 2, 3 } );
+		assertThrows( IOException.class, () -> Primes.mapBitmap( file, false ));
+	}
+	@ParameterizedTest
+	@MethodSource("dataFactorize")
+	void testFactorize(long input, List<Long> expected) {
+		var         actual = Arrays.stream( Primes.factorize( input )).boxed().collect( Collectors.toList() );
+		assertThat( actual ).containsExactlyElementsIn( expected ).inOrder();
+		if (input <= Integer.MAX_VALUE) {
+			var     ints   = Arrays.stream( Primes.factorize( (int)input )).asLongStream().boxed().collect( Collectors.toList() );
+			assertThat( ints ).containsExactlyElementsIn( expected ).inOrder();
+		}
+	}
+	static Stream<Arguments> dataFactorize() {
+	    return 
+	    Stream.of(
+	    		Arguments.of( 
+	    				-12L, 
+	    				List.of() ),
+	    		Arguments.of( 
+	    				1L, 
+	    				List.of() ),
+	    		Arguments.of( 
+	    				360L, 
+	    				List.of( 2L,2L,2L,3L,3L,5L ) ),
+	    		Arguments.of( 
+	    				16_777_259L, 
+	    				List.of( 16_777_259L ) ),
+	    		Arguments.of( 
+	    				2_146_654_199L, 
+	    				List.of( 46_327L,46_337L ) ),
+	    		Arguments.of( 
+	    				4_611_686_014_132_420_609L, 
+	    				List.of( 2_147_483_647L,2_147_483_647L ) ),
+	    		Arguments.of( 
+	    				Long.MAX_VALUE, 
+	    				List.of( 7L,7L,73L,127L,337L,92_737L,649_657L ) )
 	    		);
 	}
+	@Test
+	void testDivisorsMatchTrialDivision() {
+		for (int n = -5; n < 5_000; n++) {
+			int m = n;
+			var expected = IntStream.range( 2, Math.max( n, 2 )).filter( x -> m % x == 0 ).toArray();
+			assertThat( Primes.DIVISORS.apply( n ).toArray() ).isEqualTo( expected );
+		}
+	}
+	@ParameterizedTest
+	@MethodSource("dataEngines")
+	void testEnginesAgree(PrimeEngine engine) {
+		var bitmap = engine.empty().extend( 1_000 ).extend( 65_537 ).extend( 2_000_003 );
+		assertThat( bitmap.limit() ).isEqualTo( 2_000_003 );
+		for (int n = 0; n < bitmap.limit(); n++) {
+			assertWithMessage( "%s.isPrime(%s)".formatted( engine, n )).that( bitmap.isPrime( n )).isEqualTo( Primes.IS_PRIME.test( n ));
+		}
+		var actual = IntStream.iterate( bitmap.nextPrime( 0 ), p -> p >= 0, p -> bitmap.nextPrime( p + 1 )).toArray();
+		assertThat( actual ).isEqualTo( Primes.primesBetween( 0, bitmap.limit() ).toArray() );
+	}
+	static Stream<Arguments> dataEngines() {
+		return Arrays.stream( PrimeEngine.values() ).map( Arguments::of );
+	}
+	@Test
+	void testBatchIsPrime() {
+		var random = new java.util.Random( 42 );
+		var ints   = random.ints( 100_000, -1_000, Integer.MAX_VALUE ).toArray();
+		var longs  = random.longs( 100_000, -1_000, Long.MAX_VALUE ).toArray();
+		ints [7] = 2_147_483_647;
+		longs[7] = 9_223_372_036_854_775_783L;
+
+		var intsOut  = new BitSet();
+		var longsOut = new BitSet();
+		intsOut.set( 0, 200_000 );
+		Primes.isPrime( ints,  intsOut  );
+		Primes.isPrime( longs, longsOut );
+
+		for (int i = 0; i < ints.length; i++) {
+			assertWithMessage( "ints[%s] = %s".formatted( i, ints[i] )).that( intsOut.get( i )).isEqualTo( Primes.IS_PRIME.test( ints[i] ));
+			assertWithMessage( "longs[%s] = %s".formatted( i, longs[i] )).that( longsOut.get( i )).isEqualTo( Primes.IS_PRIME_LONG.test( longs[i] ));
+		}
+		assertThat( intsOut.get( 7 )).isTrue();
+		assertThat( longsOut.get( 7 )).isTrue();
+		assertThat( intsOut.nextSetBit( ints.length )).isEqualTo( ints.length );
+	}
+	@Test
+	void testBatchIsPrimeRejectsNull() {
+		assertThrows( IllegalArgumentException.class, () -> Primes.isPrime( (int[]) null, new BitSet() ));
+		assertThrows( IllegalArgumentException.class, () -> Primes.isPrime( new long[0], null ));
+	}
+	@ParameterizedTest
+	@MethodSource("dataNthPrime")
+	void testNthPrime(int k, long expected) {
+		assertThat( Primes.nthPrime( k )).isEqualTo( expected );
+	}
+	static Stream<Arguments> dataNthPrime() {
+	    return 
+	    Stream.of(
+	    		Arguments.of( 
+	    				1, 
+	    				2L ),
+	    		Arguments.of( 
+	    				5, 
+	    				11L ),
+	    		Arguments.of( 
+	    				6, 
+	    				13L ),
+	    		Arguments.of( 
+	    				1_000_000, 
+	    				15_485_863L ),
+	    		Arguments.of( 
+	    				105_097_565, 
+	    				2_147_483_647L ),
+	    		Arguments.of( 
+	    				203_280_221, 
+	    				4_294_967_291L )
+	    		);
+	}
+	@Test
+	void testNthPrimeRejectsOutOfRange() {
+		assertThrows( IllegalArgumentException.class, () -> Primes.nthPrime( 0 ));
+		assertThrows( IllegalArgumentException.class, () -> Primes.nthPrime( 203_280_222 ));
+	}
+	@Test
+	void testRangeAnalytics() {
+		assertThat( Primes.countBetween( 0, 100 )).isEqualTo( 25 );
+		assertThat( Primes.countBetween( 0, 1L << 32 )).isEqualTo( 203_280_221 );
+		assertThat( Primes.twinPrimes( 0, 100 )).isEqualTo( 8 );
+		assertThat( Primes.twinPrimes( 5, 13 )).isEqualTo( 1 );
+		assertThat( Primes.twinPrimes( 0, 1_000_000_000 )).isEqualTo( 3_424_506 );
+		assertThat( Primes.maxGap( 0, 2 )).isEmpty();
+		assertThat( Primes.maxGap( 0, 100 ).get() ).isEqualTo( new PrimeAnalytics.Gap( 89, 97 ));
+		assertThat( Primes.maxGap( 0, 1L << 32 ).get() ).isEqualTo( new PrimeAnalytics.Gap( 3_842_610_773L, 3_842_611_109L ));
+		assertThat( Primes.countByResidue( 0, 100, 4 )).isEqualTo( new long[] { 0, 11, 1, 13 } );
+		assertThrows( IllegalArgumentException.class, () -> Primes.countBetween( 0, (1L << 32) + 1 ));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers traversals of immutable {@link BinaryNode} trees, keyed on the
+ * identity of the root and the class of the strategy. A
+ * {@link ParallelTraversalStrategy} counts as the strategy it wraps, since it
+ * lists the same order.
+ * <p>
+ * Roots are held weakly: a tree that is no longer used elsewhere drops out of
+ * the cache, along with its traversals. At most {@code capacity} traversals
+ * are kept, and the least recently used one goes first. Lists are handed out
+ * unmodifiable, as the same list goes to every caller.
+ * <p>
+ * The cache is safe to share between threads. A traversal is computed outside
+ * the lock, so two threads missing on the same key at once may both compute
+ * it; both get an equal list.
+ */
+public final class TraversalCache {
+	private final int                            capacity;
+	private final LinkedHashMap<Object, List<?>> entries;
+	private final ReferenceQueue<BinaryNode<?>>  released = new ReferenceQueue<>();
+	private final LongAdder                      hits     = new LongAdder();
+	private final LongAdder                      misses   = new LongAdder();
+
+	public TraversalCache(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.capacity = capacity;
+		this.entries  = new LinkedHashMap<>( 16, 0.75f, true ) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, List<?>> eldest) {
+				return size() > TraversalCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Returns the traversal of {@code root} by {@code strategy}, from the cache
+	 * if it is there.
+	 */
+	@SuppressWarnings("unchecked")
+	public <E> List<E> getTraversal(TraversalStrategy<E> strategy, BinaryNode<E> root) {
+		if (strategy == null || root == null) {
+			throw new IllegalArgumentException();
+		}
+		var order = order( strategy );
+		synchronized (entries) {
+			expunge();
+			var cached = entries.get( new Lookup( root, order ));
+			if (cached != null) {
+				hits.increment();
+				return (List<E>)cached;
+			}
+		}
+		misses.increment();
+		var traversal = Collections.unmodifiableList( strategy.getTraversal( root ));
+		synchronized (entries) {
+			entries.put( new Key( root, order, released ), traversal );
+		}
+		return traversal;
+	}
+
+	public long hits() {
+		return hits.sum();
+	}
+	public long misses() {
+		return misses.sum();
+	}
+	/**
+	 * Returns the number of traversals kept, including those of roots that have
+	 * been collected but not yet removed.
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+	public int capacity() {
+		return capacity;
+	}
+	/**
+	 * Drops every traversal; the counters are kept.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			while (released.poll() != null) {
+			}
+		}
+	}
+
+	private static Class<?> order(TraversalStrategy<?> strategy) {
+		return strategy instanceof ParallelTraversalStrategy<?> parallel ? parallel.sequential().getClass() : strategy.getClass();
+	}
+	private void expunge() {
+		for (Object key; (key = released.poll()) != null; ) {
+			entries.remove( key );
+		}
+	}
+
+	/**
+	 * Table key: the root, weakly, and the strategy class. A key equals only
+	 * itself once its root is collected, so it can still be removed.
+	 */
+	private static final class Key extends WeakReference<BinaryNode<?>> {
+		private final Class<?> order;
+		private final int      hash;
+
+		Key(BinaryNode<?> root, Class<?> order, ReferenceQueue<BinaryNode<?>> queue) {
+			super( root, queue );
+			this.order = order;
+			this.hash  = hash( root, order );
+		}
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			var root = get();
+			if (root == null) {
+				return false;
+			}
+			if (obj instanceof Key other) {
+				return other.get() == root && other.order == order;
+			}
+			return obj instanceof Lookup lookup && lookup.root == root && lookup.order == order;
+		}
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * Probe for the key of a live root.
+	 */
+	private static final class Lookup {
+		private final BinaryNode<?> root;
+		private final Class<?>      order;
+
+		Lookup(BinaryNode<?> root, Class<?> order) {
+			this.root  = root;
+			this.order = order;
+		}
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key key && key.get() == root && key.order == order;
+		}
+		@Override
+		public int hashCode() {
+			return hash( root, order );
+		}
+	}
+
+	private static int hash(BinaryNode<?> root, Class<?> order) {
+		return 31 * System.identityHashCode( root ) + order.hashCode();
+	}
+}
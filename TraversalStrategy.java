@@ -1,5 +1,53 @@
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface TraversalStrategy<E> {
 	List<E> getTraversal(BinaryNode<E> tree);
-}
\ No newline at end of file
+
+	/**
+	 * Returns the values of {@code tree} in traversal order. Strategies that can
+	 * walk the tree lazily override this; the default lists it first.
+	 */
+	default Iterator<E> iterator(BinaryNode<E> tree) {
+		return getTraversal( tree ).iterator();
+	}
+	/**
+	 * Streams the values of {@code tree} in traversal order, pulling them from
+	 * {@link #iterator} only as the stream consumes them.
+	 */
+	default Stream<E> stream(BinaryNode<E> tree) {
+		var spliterator = Spliterators.spliteratorUnknownSize( iterator( tree ), Spliterator.ORDERED | Spliterator.NONNULL );
+		return StreamSupport.stream( spliterator, false );
+	}
+	/**
+	 * Hands the values of {@code tree} to {@code action} in traversal order.
+	 */
+	default void forEach(BinaryNode<E> tree, Consumer<? super E> action) {
+		if (action == null) {
+			throw new IllegalArgumentException();
+		}
+		iterator( tree ).forEachRemaining( action );
+	}
+	/**
+	 * Folds the values of {@code tree}, in traversal order, with {@code collector}
+	 * and no intermediate collection.
+	 */
+	@SuppressWarnings("unchecked")
+	default <A, R> R collect(BinaryNode<E> tree, Collector<? super E, A, R> collector) {
+		if (collector == null) {
+			throw new IllegalArgumentException();
+		}
+		var container   = collector.supplier().get();
+		var accumulator = collector.accumulator();
+		forEach( tree, value -> accumulator.accept( container, value ));
+		return collector.characteristics().contains( Collector.Characteristics.IDENTITY_FINISH )
+				? (R)container
+				: collector.finisher().apply( container );
+	}
+}
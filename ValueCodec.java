@@ -0,0 +1,110 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the values of a {@link BinaryNodeCodec} stream. The stream stores
+ * the length of every value, so a codec never needs a terminator or a length
+ * of its own.
+ */
+public interface ValueCodec<T> {
+	/**
+	 * Returns how many bytes {@link #write} puts for {@code value}.
+	 */
+	int size(T value);
+	/**
+	 * Puts exactly {@code size(value)} bytes into {@code out}.
+	 */
+	void write(T value, ByteBuffer out);
+	/**
+	 * Reads a value from all the remaining bytes of {@code in}.
+	 */
+	T read(ByteBuffer in);
+
+	ValueCodec<String> STRING = new ValueCodec<>() {
+		@Override
+		public int size(String value) {
+			int size = 0;
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt( i );
+				if (c < 0x80) {
+					size += 1;
+				}
+				else if (c < 0x800) {
+					size += 2;
+				}
+				else if (Character.isHighSurrogate( c ) && i + 1 < value.length() && Character.isLowSurrogate( value.charAt( i + 1 ))) {
+					size += 4;
+					i++;
+				}
+				else if (Character.isSurrogate( c )) {
+					size += 1;                                  // a lone surrogate is written as '?'
+				}
+				else {
+					size += 3;
+				}
+			}
+			return size;
+		}
+		@Override
+		public void write(String value, ByteBuffer out) {
+			out.put( value.getBytes( StandardCharsets.UTF_8 ));
+		}
+		@Override
+		public String read(ByteBuffer in) {
+			return StandardCharsets.UTF_8.decode( in ).toString();
+		}
+	};
+	/**
+	 * Zig-zag varint, 1 to 5 bytes.
+	 */
+	ValueCodec<Integer> INTEGER = new ValueCodec<>() {
+		@Override
+		public int size(Integer value) {
+			return BinaryNodeCodec.varintSize( zigzag( value ));
+		}
+		@Override
+		public void write(Integer value, ByteBuffer out) {
+			BinaryNodeCodec.putVarint( out, zigzag( value ));
+		}
+		@Override
+		public Integer read(ByteBuffer in) {
+			long zigzag = BinaryNodeCodec.getVarint( in );
+			return (int)(zigzag >>> 1) ^ -(int)(zigzag & 1);
+		}
+		private long zigzag(int value) {
+			return Integer.toUnsignedLong( (value << 1) ^ (value >> 31) );
+		}
+	};
+	/**
+	 * Zig-zag varint, 1 to 10 bytes.
+	 */
+	ValueCodec<Long> LONG = new ValueCodec<>() {
+		@Override
+		public int size(Long value) {
+			return BinaryNodeCodec.varintSize( (value << 1) ^ (value >> 63) );
+		}
+		@Override
+		public void write(Long value, ByteBuffer out) {
+			BinaryNodeCodec.putVarint( out, (value << 1) ^ (value >> 63) );
+		}
+		@Override
+		public Long read(ByteBuffer in) {
+			long zigzag = BinaryNodeCodec.getVarint( in );
+			return (zigzag >>> 1) ^ -(zigzag & 1);
+		}
+	};
+	ValueCodec<Double> DOUBLE = new ValueCodec<>() {
+		@Override
+		public int size(Double value) {
+			return Double.BYTES;
+		}
+		@Override
+		public void write(Double value, ByteBuffer out) {
+			out.putDouble( value );
+		}
+		@Override
+		public Double read(ByteBuffer in) {
+			return in.getDouble();
+		}
+	};
+}
@@ -0,0 +1,139 @@
+import java.util.Arrays;
+
+/**
+ * {@link PrimeBitmap} on a mod-30 wheel: byte {@code i} covers
+ * {@code [30*i, 30*i + 30)} and its eight bits stand for the residues coprime
+ * to 30. Multiples of 2, 3 and 5 are never stored, so all ints fit in about
+ * 68 MiB against 128 MiB for {@link OddBitmap}.
+ * <p>
+ * Sieving starts each segment from a pre-sieved copy of the 1001-byte period
+ * of 7, 11 and 13; every larger prime p then clears eight strided runs, one
+ * per wheel residue, each touching a fixed bit every p bytes.
+ */
+final class WheelBitmap implements PrimeBitmap {
+	static final WheelBitmap EMPTY = new WheelBitmap( new byte[0], 0 );
+
+	private static final int    SEGMENT_BYTES = 1 << 15;
+	private static final int[]  RESIDUES      = { 1, 7, 11, 13, 17, 19, 23, 29 };
+	private static final byte[] BIT           = new byte[30];   // residue -> bit, or -1
+	private static final int[]  FROM          = new int[30];    // residue -> mask of bits >= it
+	private static final byte[] PATTERN       = new byte[7 * 11 * 13];
+
+	static {
+		Arrays.fill( BIT, (byte)-1 );
+		for (int k = 0; k < RESIDUES.length; k++) {
+			BIT[RESIDUES[k]] = (byte)k;
+		}
+		for (int r = 0, k = 0; r < 30; r++) {
+			while (k < RESIDUES.length && RESIDUES[k] < r) {
+				k++;
+			}
+			FROM[r] = (0xFF << k) & 0xFF;
+		}
+		Arrays.fill( PATTERN, (byte)-1 );
+		for (int p : new int[] { 7, 11, 13 }) {
+			for (int n = p; n < 30 * PATTERN.length; n += p) {
+				if (BIT[n % 30] >= 0) {
+					PATTERN[n / 30] &= ~(1 << BIT[n % 30]);
+				}
+			}
+		}
+	}
+
+	private final byte[] bytes;
+	private final int    limit;
+
+	private WheelBitmap(byte[] bytes, int limit) {
+		this.bytes = bytes;
+		this.limit = limit;
+	}
+
+	@Override
+	public int limit() {
+		return limit;
+	}
+	@Override
+	public boolean isPrime(int n) {
+		if (n == 2 || n == 3 || n == 5) {
+			return true;
+		}
+		int bit = BIT[n % 30];
+		return bit >= 0 && (bytes[n / 30] & (1 << bit)) != 0;
+	}
+	@Override
+	public int nextPrime(int from) {
+		if (from <= 5) {
+			int small = from <= 2 ? 2 : from <= 3 ? 3 : 5;
+			return small < limit ? small : -1;
+		}
+		if (from >= limit) {
+			return -1;
+		}
+		int index = from / 30;
+		int mask  = bytes[index] & FROM[from % 30];
+		while (mask == 0) {
+			if (++index == bytes.length) {
+				return -1;
+			}
+			mask = bytes[index] & 0xFF;
+		}
+		long prime = 30L * index + RESIDUES[Integer.numberOfTrailingZeros( mask )];
+		return prime < limit ? (int)prime : -1;
+	}
+	/**
+	 * Copies the complete bytes and sieves from the last, possibly partial,
+	 * one onwards.
+	 */
+	@Override
+	public WheelBitmap extend(int limit) {
+		if (limit <= this.limit) {
+			return this;
+		}
+		int count = (int)((limit + 29L) / 30);
+		int done  = this.limit / 30;
+		var grown = Arrays.copyOf( bytes, count );
+		for (int low = done; low < count; low += SEGMENT_BYTES) {
+			sieve( grown, low, Math.min( count, low + SEGMENT_BYTES ));
+		}
+		for (int r = 0; r < 30; r++) {
+			if (BIT[r] >= 0 && 30L * (count - 1) + r >= limit) {
+				grown[count - 1] &= ~(1 << BIT[r]);
+			}
+		}
+		return new WheelBitmap( grown, limit );
+	}
+
+	/**
+	 * Sieves bytes {@code [low, high)} of {@code bytes}.
+	 */
+	private static void sieve(byte[] bytes, int low, int high) {
+		for (int i = low, offset = low % PATTERN.length; i < high; ) {
+			int run = Math.min( high - i, PATTERN.length - offset );
+			System.arraycopy( PATTERN, offset, bytes, i, run );
+			i      += run;
+			offset  = 0;
+		}
+		if (low == 0) {
+			bytes[0] = (byte)((bytes[0] | 1 << BIT[7] | 1 << BIT[11] | 1 << BIT[13]) & ~(1 << BIT[1]));
+		}
+		long first = 30L * low;
+		long end   = 30L * high;
+		for (int p : PrimeSieve.basePrimes()) {
+			if ((long)p * p >= end) {
+				break;
+			}
+			if (p < 17) {
+				continue;                                       // already in the pattern
+			}
+			long qMin = Math.max( p, (first + p - 1) / p );
+			for (int r : RESIDUES) {
+				long j     = (qMin - r + 29) / 30;             // first q = 30j + r >= qMin
+				long start = p * j + (long)p * r / 30;
+				int  mask  = ~(1 << BIT[p * r % 30]);
+				for (long b = start; b < high; b += p) {
+					bytes[(int)b] &= mask;
+				}
+			}
+		}
+	}
+}
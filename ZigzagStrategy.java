@@ -0,0 +1,91 @@
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Breadth-first traversal that alternates direction: the root level, then the
+ * next level from right to left, the one after from left to right, and so on.
+ * <p>
+ * One deque holds the current level followed by the children found so far.
+ * Left-to-right levels are taken from the head and their children, left
+ * first, added at the tail; right-to-left levels are taken from the tail and
+ * their children, right first, added at the head. Either way the next level
+ * ends up in its own reading order.
+ */
+public class ZigzagStrategy<E> implements TraversalStrategy<E> {
+
+	@Override
+	public List<E> getTraversal(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		List <E> TR = new ArrayList<>((int)Math.min(tree.size(), Integer.MAX_VALUE));
+		forEach(tree, TR::add);
+		return TR;
+	}
+	@Override
+	public void forEach(BinaryNode<E> tree, Consumer<? super E> action) {
+		if (tree == null || action == null) {
+			throw new IllegalArgumentException();
+		}
+		var levels = new Zigzag<>(tree);
+		while (levels.hasNext()) {
+			action.accept(levels.next());
+		}
+	}
+	@Override
+	public Iterator<E> iterator(BinaryNode<E> tree) {
+		if (tree == null) {
+			throw new IllegalArgumentException();
+		}
+		return new Zigzag<>(tree);
+	}
+
+	private static final class Zigzag<E> implements Iterator<E> {
+		private final Deque<BinaryNode<E>> deque;
+		private boolean                    forward   = true;
+		private int                        remaining;              // nodes of the current level still in the deque
+
+		Zigzag(BinaryNode<E> tree) {
+			this.deque     = LevelOrderStrategy.queue(tree);
+			this.remaining = deque.size();
+		}
+		@Override
+		public boolean hasNext() {
+			return !deque.isEmpty();
+		}
+		@Override
+		public E next() {
+			if (deque.isEmpty()) {
+				throw new NoSuchElementException();
+			}
+			BinaryNode<E> node;
+			if (forward) {
+				node = deque.pollFirst();
+				if (node.left() != BinaryNode.empty()) {
+					deque.addLast(node.left());
+				}
+				if (node.right() != BinaryNode.empty()) {
+					deque.addLast(node.right());
+				}
+			}
+			else {
+				node = deque.pollLast();
+				if (node.right() != BinaryNode.empty()) {
+					deque.addFirst(node.right());
+				}
+				if (node.left() != BinaryNode.empty()) {
+					deque.addFirst(node.left());
+				}
+			}
+			if (--remaining == 0) {
+				forward   = !forward;
+				remaining = deque.size();
+			}
+			return node.value();
+		}
+	}
+}